@@ -0,0 +1,22 @@
+attribute vec4 a_position;
+attribute vec2 a_texCoord0;
+//amplitude, angular speed and phase of the vertical bob, time offset of the rock
+attribute vec4 a_bob;
+//distance, leg duration and time offset of the back and forth sweep
+attribute vec4 a_sweep;
+varying vec2 v_texCoords;
+uniform mat4 u_projTrans;
+uniform float u_time;
+
+void main() {
+float t = u_time + a_bob.w;
+vec4 position = a_position;
+position.y += a_bob.x * sin(a_bob.y * t + a_bob.z);
+if (a_sweep.z > 0.0) {
+float leg = (t + a_sweep.w) / a_sweep.z;
+leg -= 2.0 * floor(leg / 2.0);
+position.xy += a_sweep.xy * (leg <= 1.0 ? leg : 2.0 - leg);
+}
+v_texCoords = a_texCoord0;
+gl_Position = u_projTrans * position;
+}
\ No newline at end of file
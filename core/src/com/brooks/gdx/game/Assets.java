@@ -14,7 +14,12 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.Texture.TextureWrap;
+import com.badlogic.gdx.math.MathUtils;
 
 /**
  * Created by: Becky Brooks
@@ -33,6 +38,7 @@ public class Assets implements Disposable, AssetErrorListener
 	public AssetFonts fonts;
 	public AssetSounds sounds;
 	public AssetMusic music;
+	public AssetParticles particles;
 
 	/**
 	 * Assets method
@@ -88,6 +94,8 @@ public class Assets implements Disposable, AssetErrorListener
 		assetManager.load("sounds/live_lost.wav", Sound.class);
 		//load music
 		assetManager.load("music/keith303_-_brand_new_highscore.mp3", Music.class);
+		//load particles
+		assetManager.load("particles/dust", ParticleEffect.class);
 		//start loading assets and wait until finished
 		assetManager.finishLoading();
 		Gdx.app.debug(TAG, "# of assets loaded: " + assetManager.getAssetNames().size);
@@ -106,9 +114,13 @@ public class Assets implements Disposable, AssetErrorListener
 		rock = new AssetRock(atlas);
 		goldCoin = new AssetGoldCoin(atlas);
 		feather = new AssetFeather(atlas);
+		//resume() initializes the assets again, the repeat texture isn't managed by the asset manager
+		if (levelDecoration != null)
+			levelDecoration.mountains.dispose();
 		levelDecoration = new AssetLevelDecoration(atlas);
 		sounds = new AssetSounds(assetManager);
 		music = new AssetMusic(assetManager);
+		particles = new AssetParticles(assetManager);
 	}
 	
 	/**
@@ -122,6 +134,53 @@ public class Assets implements Disposable, AssetErrorListener
 		fonts.defaultSmall.dispose();
 		fonts.defaultNormal.dispose();
 		fonts.defaultBig.dispose();
+		levelDecoration.mountains.dispose();
+	}
+	
+	/**
+	 * CreateRepeatTexture method
+	 * Copies the regions side by side out of the atlas page into a texture that wraps horizontally. Each region gets an
+	 * equal part of the width and the full height; the size is a power of two, which repeat wrapping needs on GLES 2.
+	 * @param regions regions of the same atlas page
+	 * @return
+	 */
+	private static Texture createRepeatTexture (AtlasRegion... regions)
+	{
+		TextureData data = regions[0].getTexture().getTextureData();
+		if (!data.isPrepared())
+			data.prepare();
+		Pixmap page = data.consumePixmap();
+		int regionWidth = 0;
+		int height = 0;
+		for (AtlasRegion region : regions)
+		{
+			regionWidth = Math.max(regionWidth, region.getRegionWidth());
+			height = Math.max(height, region.getRegionHeight());
+		}
+		int width = MathUtils.nextPowerOfTwo(regionWidth * regions.length);
+		height = MathUtils.nextPowerOfTwo(height);
+		Pixmap strip = new Pixmap(width, height, page.getFormat());
+		//Copy the alpha as it is instead of blending onto the empty pixmap
+		Pixmap.Blending blending = Pixmap.getBlending();
+		Pixmap.setBlending(Pixmap.Blending.None);
+		int partWidth = width / regions.length;
+		for (int i = 0; i < regions.length; i++)
+		{
+			AtlasRegion region = regions[i];
+			strip.drawPixmap(page, region.getRegionX(), region.getRegionY(), region.getRegionWidth(), region.getRegionHeight(),
+				i * partWidth, 0, partWidth, height);
+		}
+		Pixmap.setBlending(blending);
+		if (data.disposePixmap())
+			page.dispose();
+		Texture texture = new Texture(strip);
+		strip.dispose();
+		//Filtered like the atlas page, the strip has no mipmaps though
+		Texture pageTexture = regions[0].getTexture();
+		TextureFilter minFilter = pageTexture.getMinFilter();
+		texture.setFilter(minFilter.isMipMap() ? pageTexture.getMagFilter() : minFilter, pageTexture.getMagFilter());
+		texture.setWrap(TextureWrap.Repeat, TextureWrap.ClampToEdge);
+		return texture;
 	}
 	
 	/**
@@ -235,6 +294,8 @@ public class Assets implements Disposable, AssetErrorListener
 		public final AtlasRegion cloud03;
 		public final AtlasRegion mountainLeft;
 		public final AtlasRegion mountainRight;
+		//Left and right mountain side by side in a texture of their own, so it can repeat
+		public final Texture mountains;
 		public final AtlasRegion waterOverlay;
 		public final AtlasRegion carrot;
 		public final AtlasRegion goal;
@@ -246,6 +307,7 @@ public class Assets implements Disposable, AssetErrorListener
 			cloud03 = atlas.findRegion("cloud03");
 			mountainLeft = atlas.findRegion("mountain_left");
 			mountainRight = atlas.findRegion("mountain_right");
+			mountains = createRepeatTexture(mountainLeft, mountainRight);
 			waterOverlay = atlas.findRegion("water_overlay");
 			carrot = atlas.findRegion("carrot");
 			goal = atlas.findRegion("goal");
@@ -285,4 +347,17 @@ public class Assets implements Disposable, AssetErrorListener
 			song01 = am.get("music/keith303_-_brand_new_highscore.mp3", Music.class);
 		}
 	}
+	
+	/**
+	 * Class for the particle effects
+	 */
+	public class AssetParticles
+	{
+		public final ParticleEffect dust;
+		
+		public AssetParticles (AssetManager am)
+		{
+			dust = am.get("particles/dust", ParticleEffect.class);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.physics.box2d.World;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+
+/**
+ * Creates the game object for a block color of the level image and adds it to a level.
+ * Register new block types with {@link BlockRegistry#register(int, BlockFactory)}.
+ */
+public abstract class BlockFactory
+{
+	//Declare variables
+	public final String name;
+	//Consecutive pixels of this color in scan order form one block with a length
+	public final boolean run;
+	//Created once per level instead of being streamed with its chunk
+	public final boolean global;
+
+	/**
+	 * BlockFactory method
+	 * @param name
+	 * @param run
+	 * @param global
+	 */
+	public BlockFactory (String name, boolean run, boolean global)
+	{
+		this.name = name;
+		this.run = run;
+		this.global = global;
+	}
+
+	/**
+	 * Create method
+	 * @param pixelX
+	 * @param pixelY
+	 * @param length run length, 1 for single pixel blocks
+	 * @param levelHeight height of the level image in pixels
+	 * @return positioned game object
+	 */
+	public abstract AbstractGameObject create (int pixelX, int pixelY, int length, int levelHeight);
+
+	/**
+	 * Add method
+	 * Hands the object to the level's generic hook, which updates and draws it. The built-in types override this
+	 * to put their objects into the level's typed collections.
+	 * @param level
+	 * @param object
+	 */
+	public void add (Level level, AbstractGameObject object)
+	{
+		level.add(object);
+	}
+
+	/**
+	 * Remove method
+	 * Called when a streamed chunk is unloaded
+	 * @param level
+	 * @param object
+	 */
+	public void remove (Level level, AbstractGameObject object)
+	{
+		level.remove(object);
+	}
+
+	/**
+	 * Free method
+	 * Called for streamed objects after their chunk was unloaded and their body destroyed
+	 * @param object
+	 */
+	public void free (AbstractGameObject object)
+	{
+	}
+
+	/**
+	 * CreateBody method
+	 * Called for streamed objects once the Box2D world exists
+	 * @param world
+	 * @param object
+	 */
+	public void createBody (World world, AbstractGameObject object)
+	{
+	}
+
+	/**
+	 * IsCollected method
+	 * @param object
+	 * @return whether the object was used up and must not come back when its chunk is reloaded
+	 */
+	public boolean isCollected (AbstractGameObject object)
+	{
+		return false;
+	}
+
+	/**
+	 * SetCollected method
+	 * @param object
+	 * @param collected
+	 */
+	public void setCollected (AbstractGameObject object, boolean collected)
+	{
+	}
+}
@@ -0,0 +1,294 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntMap;
+import com.brooks.gdx.game.Level.BLOCK_TYPE;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.objects.BunnyHead;
+import com.brooks.gdx.game.objects.Feather;
+import com.brooks.gdx.game.objects.Goal;
+import com.brooks.gdx.game.objects.GoldCoin;
+import com.brooks.gdx.game.objects.Rock;
+import com.brooks.gdx.game.util.BlockColors;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.GamePools;
+import com.brooks.gdx.game.util.MotionPath;
+
+/**
+ * Maps RGBA colors of the level image to block factories. Lookups go through a primitive int-keyed hash map,
+ * so classifying a pixel costs the same no matter how many block types are registered.
+ */
+public class BlockRegistry
+{
+	//Declare variables
+	public static final String TAG = BlockRegistry.class.getName();
+	public static final BlockRegistry instance = new BlockRegistry();
+	private final IntMap<BlockFactory> factories = new IntMap<BlockFactory>();
+	//What the level decoder needs to know about the registered colors
+	private final BlockColors colors = new BlockColors(BLOCK_TYPE.EMPTY.getColor());
+
+	/**
+	 * BlockRegistry method
+	 * Creates a registry with the built-in block types
+	 */
+	public BlockRegistry ()
+	{
+		registerDefaults();
+	}
+
+	/**
+	 * Register method
+	 * @param color 32-bit RGBA value
+	 * @param factory
+	 */
+	public void register (int color, BlockFactory factory)
+	{
+		if (color == BLOCK_TYPE.EMPTY.getColor())
+			throw new IllegalArgumentException("Color of empty space can't be registered");
+		factories.put(color, factory);
+		colors.put(color, factory.run);
+	}
+
+	/**
+	 * GetColors method
+	 * @return color table of the registered block types, for decoding level images
+	 */
+	public BlockColors getColors ()
+	{
+		return colors;
+	}
+
+	/**
+	 * Get method
+	 * @param color 32-bit RGBA value
+	 * @return factory or null for empty space and unknown colors
+	 */
+	public BlockFactory get (int color)
+	{
+		return factories.get(color);
+	}
+
+	/**
+	 * Size method
+	 * @return number of registered block types
+	 */
+	public int size ()
+	{
+		return factories.size;
+	}
+
+	/**
+	 * RegisterDefaults method
+	 */
+	private void registerDefaults ()
+	{
+		//Rocks bobbing in place, each at a random point of the period
+		register(BLOCK_TYPE.ROCK.getColor(), new RockFactory("rock",
+			new MotionPath.SineBob(Constants.ROCK_FLOAT_AMPLITUDE, Constants.ROCK_FLOAT_PERIOD, 0), Constants.ROCK_FLOAT_PERIOD));
+		//Rocks moving right and back
+		register(BLOCK_TYPE.ROCK_MOVING.getColor(), new RockFactory("moving rock",
+			new MotionPath.PingPong(Constants.ROCK_MOVE_DISTANCE, 0, Constants.ROCK_MOVE_LEG_DURATION, 0), 0));
+		//Rocks going round a loop
+		float width = Constants.ROCK_LOOP_WIDTH;
+		float height = Constants.ROCK_LOOP_HEIGHT;
+		Vector2[] waypoints = { new Vector2(0, 0), new Vector2(width, 0), new Vector2(width, height), new Vector2(0, height) };
+		register(BLOCK_TYPE.ROCK_LOOPING.getColor(), new RockFactory("looping rock",
+			new MotionPath.WaypointSpline(waypoints, Constants.ROCK_LOOP_SPAN_DURATION), 0));
+		//Player spawn point
+		register(BLOCK_TYPE.PLAYER_SPAWNPOINT.getColor(), new BlockFactory("player spawn point", false, true)
+		{
+			@Override
+			public AbstractGameObject create (int pixelX, int pixelY, int length, int levelHeight)
+			{
+				BunnyHead bunnyHead = GamePools.instance.bunnyHeads.obtain();
+				float offsetHeight = -3.0f;
+				bunnyHead.position.set(pixelX, (levelHeight - pixelY) * bunnyHead.dimension.y + offsetHeight);
+				return bunnyHead;
+			}
+
+			@Override
+			public void add (Level level, AbstractGameObject object)
+			{
+				level.bunnyHead = (BunnyHead)object;
+			}
+		});
+		//Feather
+		register(BLOCK_TYPE.ITEM_FEATHER.getColor(), new BlockFactory("feather", false, false)
+		{
+			@Override
+			public AbstractGameObject create (int pixelX, int pixelY, int length, int levelHeight)
+			{
+				Feather feather = GamePools.instance.feathers.obtain();
+				float offsetHeight = -1.5f;
+				feather.position.set(pixelX, (levelHeight - pixelY) * feather.dimension.y + offsetHeight);
+				return feather;
+			}
+
+			@Override
+			public void add (Level level, AbstractGameObject object)
+			{
+				//Feathers collected before their chunk was unloaded come back inactive
+				level.feathers.add((Feather)object, !((Feather)object).collected, level.time);
+			}
+
+			@Override
+			public void remove (Level level, AbstractGameObject object)
+			{
+				level.feathers.remove((Feather)object);
+			}
+
+			@Override
+			public boolean isCollected (AbstractGameObject object)
+			{
+				return ((Feather)object).collected;
+			}
+
+			@Override
+			public void createBody (World world, AbstractGameObject object)
+			{
+				object.body = WorldController.createPickupBody(world, object, !((Feather)object).collected);
+			}
+
+			@Override
+			public void setCollected (AbstractGameObject object, boolean collected)
+			{
+				((Feather)object).collected = collected;
+			}
+
+			@Override
+			public void free (AbstractGameObject object)
+			{
+				GamePools.instance.feathers.free((Feather)object);
+			}
+		});
+		//Gold coin
+		register(BLOCK_TYPE.ITEM_GOLD_COIN.getColor(), new BlockFactory("gold coin", false, false)
+		{
+			@Override
+			public AbstractGameObject create (int pixelX, int pixelY, int length, int levelHeight)
+			{
+				GoldCoin goldCoin = GamePools.instance.goldCoins.obtain();
+				float offsetHeight = -1.5f;
+				goldCoin.position.set(pixelX, (levelHeight - pixelY) * goldCoin.dimension.y + offsetHeight);
+				return goldCoin;
+			}
+
+			@Override
+			public void add (Level level, AbstractGameObject object)
+			{
+				level.goldcoins.add((GoldCoin)object, !((GoldCoin)object).collected, level.time);
+			}
+
+			@Override
+			public void remove (Level level, AbstractGameObject object)
+			{
+				level.goldcoins.remove((GoldCoin)object);
+			}
+
+			@Override
+			public boolean isCollected (AbstractGameObject object)
+			{
+				return ((GoldCoin)object).collected;
+			}
+
+			@Override
+			public void createBody (World world, AbstractGameObject object)
+			{
+				object.body = WorldController.createPickupBody(world, object, !((GoldCoin)object).collected);
+			}
+
+			@Override
+			public void setCollected (AbstractGameObject object, boolean collected)
+			{
+				((GoldCoin)object).collected = collected;
+			}
+
+			@Override
+			public void free (AbstractGameObject object)
+			{
+				GamePools.instance.goldCoins.free((GoldCoin)object);
+			}
+		});
+		//Goal
+		register(BLOCK_TYPE.GOAL.getColor(), new BlockFactory("goal", false, true)
+		{
+			@Override
+			public AbstractGameObject create (int pixelX, int pixelY, int length, int levelHeight)
+			{
+				Goal goal = GamePools.instance.goals.obtain();
+				float offsetHeight = -7.0f;
+				goal.position.set(pixelX, levelHeight - pixelY + offsetHeight);
+				return goal;
+			}
+
+			@Override
+			public void add (Level level, AbstractGameObject object)
+			{
+				level.goal = (Goal)object;
+			}
+		});
+	}
+
+	/**
+	 * Factory for rocks, all rocks of a kind share one path
+	 */
+	private static class RockFactory extends BlockFactory
+	{
+		//Declare variables
+		private final MotionPath path;
+		private final float phaseRange;
+
+		/**
+		 * RockFactory method
+		 * @param name
+		 * @param path path relative to the rock's position, or null for rocks that don't move
+		 * @param phaseRange rocks start at a random time offset below this, 0 to move all rocks in step
+		 */
+		public RockFactory (String name, MotionPath path, float phaseRange)
+		{
+			super(name, true, false);
+			this.path = path;
+			this.phaseRange = phaseRange;
+		}
+
+		@Override
+		public AbstractGameObject create (int pixelX, int pixelY, int length, int levelHeight)
+		{
+			Rock rock = GamePools.instance.rocks.obtain();
+			float heightIncreaseFactor = 0.25f;
+			float offsetHeight = -2.5f;
+			//Height grows from bottom to top
+			float baseHeight = levelHeight - pixelY;
+			rock.position.set(pixelX, baseHeight * rock.dimension.y * heightIncreaseFactor + offsetHeight);
+			rock.setLength(length);
+			rock.setMotion(path, phaseRange > 0 ? MathUtils.random(phaseRange) : 0);
+			return rock;
+		}
+
+		@Override
+		public void add (Level level, AbstractGameObject object)
+		{
+			level.addRock((Rock)object);
+		}
+
+		@Override
+		public void remove (Level level, AbstractGameObject object)
+		{
+			level.removeRock((Rock)object);
+		}
+
+		@Override
+		public void createBody (World world, AbstractGameObject object)
+		{
+			object.body = WorldController.createRockBody(world, (Rock)object);
+		}
+
+		@Override
+		public void free (AbstractGameObject object)
+		{
+			GamePools.instance.rocks.free((Rock)object);
+		}
+	}
+}
@@ -7,6 +7,7 @@ import com.brooks.gdx.game.Assets;
 import com.badlogic.gdx.Game;
 import com.brooks.gdx.game.screens.MenuScreen;
 import com.brooks.gdx.game.util.AudioManager;
+import com.brooks.gdx.game.util.GamePools;
 import com.brooks.gdx.game.util.GamePreferences;
 
 /**
@@ -30,4 +31,15 @@ public class BrooksGdxGame extends Game
 		//Start game at menu screen
 		setScreen(new MenuScreen(this));
 	}
+	
+	/**
+	 * Dispose method
+	 */
+	@Override
+	public void dispose ()
+	{
+		super.dispose();
+		//The screens are gone, nothing uses the pooled shapes anymore
+		GamePools.instance.dispose();
+	}
 }
\ No newline at end of file
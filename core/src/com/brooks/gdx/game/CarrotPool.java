@@ -0,0 +1,189 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.ecs.Mappers;
+import com.brooks.gdx.game.ecs.components.AnimationComponent;
+import com.brooks.gdx.game.ecs.components.BodyComponent;
+import com.brooks.gdx.game.ecs.components.TransformComponent;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.GamePools;
+
+/**
+ * Fixed set of carrot entities whose Box2D bodies are created inactive together with the world.
+ * Spawning activates free carrots and adds them to the level's EcsWorld, retiring takes them out and deactivates
+ * them again, so no entities, components or bodies are created or destroyed during the goal celebration.
+ */
+public class CarrotPool
+{
+	//Declare variables
+	public static final String TAG = CarrotPool.class.getName();
+	private final Array<Entity> free;
+	private final Array<Entity> spawned;
+
+	/**
+	 * CarrotPool method
+	 * @param world
+	 * @param capacity
+	 */
+	public CarrotPool (World world, int capacity)
+	{
+		free = new Array<Entity>(capacity);
+		spawned = new Array<Entity>(capacity);
+		float carrotShapeScale = 0.5f;
+		GamePools pools = GamePools.instance;
+		PolygonShape polygonShape = pools.polygonShapes.obtain();
+		BodyDef bodyDef = pools.bodyDefs.obtain();
+		FixtureDef fixtureDef = pools.fixtureDefs.obtain();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.active = false;
+		//Create carrots with box2d body and fixture
+		for (int i = 0; i < capacity; i++)
+		{
+			Entity carrot = new Entity();
+			TransformComponent transform = new TransformComponent();
+			transform.dimension.set(0.25f, 0.5f);
+			transform.bounds.set(0, 0, transform.dimension.x, transform.dimension.y);
+			transform.origin.set(transform.dimension.x / 2, transform.dimension.y / 2);
+			//Each pooled carrot keeps its random scale
+			float carrotScale = MathUtils.random(0.5f, 1.5f);
+			transform.scale.set(carrotScale, carrotScale);
+			AnimationComponent animation = new AnimationComponent();
+			animation.region = Assets.instance.levelDecoration.carrot;
+			BodyComponent bodyComponent = new BodyComponent();
+			Body body = world.createBody(bodyDef);
+			bodyComponent.body = body;
+			carrot.add(transform);
+			carrot.add(animation);
+			carrot.add(bodyComponent);
+			//Create rectangular shape for carrot to allow interactions (collisions) with other objects
+			float halfWidth = transform.bounds.width / 2.0f * carrotScale;
+			float halfHeight = transform.bounds.height / 2.0f * carrotScale;
+			polygonShape.setAsBox(halfWidth * carrotShapeScale, halfHeight * carrotShapeScale);
+			//Set physics attributes
+			fixtureDef.shape = polygonShape;
+			fixtureDef.density = 50;
+			fixtureDef.restitution = 0.5f;
+			fixtureDef.friction = 0.5f;
+			fixtureDef.filter.categoryBits = Constants.CATEGORY_CARROT;
+			fixtureDef.filter.maskBits = Constants.CATEGORY_ROCK | Constants.CATEGORY_CARROT;
+			body.createFixture(fixtureDef);
+			free.add(carrot);
+		}
+		pools.fixtureDefs.free(fixtureDef);
+		pools.bodyDefs.free(bodyDef);
+		pools.polygonShapes.free(polygonShape);
+	}
+
+	/**
+	 * Spawn method
+	 * Activates up to numCarrots free carrots at random spots above the position
+	 * @param level
+	 * @param pos
+	 * @param numCarrots
+	 * @param radius
+	 * @return number of carrots spawned
+	 */
+	public int spawn (Level level, Vector2 pos, int numCarrots, float radius)
+	{
+		int count = Math.min(numCarrots, free.size);
+		for (int i = 0; i < count; i++)
+		{
+			Entity carrot = free.pop();
+			TransformComponent transform = Mappers.transform.get(carrot);
+			BodyComponent bodyComponent = Mappers.body.get(carrot);
+			//Calculate random spawn position and rotation
+			float x = MathUtils.random(-radius, radius);
+			float y = MathUtils.random(5.0f, 15.0f);
+			float rotation = MathUtils.random(0.0f, 360.0f) * MathUtils.degreesToRadians;
+			Body body = bodyComponent.body;
+			body.setTransform(pos.x + x, pos.y + y, rotation);
+			body.setLinearVelocity(0, 0);
+			body.setAngularVelocity(0);
+			body.setActive(true);
+			body.setAwake(true);
+			transform.position.set(body.getPosition());
+			transform.rotation = rotation * MathUtils.radiansToDegrees;
+			bodyComponent.timeResting = 0;
+			//Finally, add carrot to the entities for updating / rendering
+			spawned.add(carrot);
+			level.entities.addEntity(carrot);
+		}
+		return count;
+	}
+
+	/**
+	 * Update method
+	 * Retires the carrots that left the view or rested longer than the timeout
+	 * @param level
+	 * @param deltaTime
+	 * @param viewCenter
+	 */
+	public void update (Level level, float deltaTime, Vector2 viewCenter)
+	{
+		for (int i = spawned.size - 1; i >= 0; i--)
+		{
+			Entity carrot = spawned.get(i);
+			Vector2 position = Mappers.transform.get(carrot).position;
+			BodyComponent bodyComponent = Mappers.body.get(carrot);
+			Body body = bodyComponent.body;
+			if (!body.isAwake() || body.getLinearVelocity().len2() < Constants.CARROTS_REST_SPEED * Constants.CARROTS_REST_SPEED)
+				bodyComponent.timeResting += deltaTime;
+			else
+				bodyComponent.timeResting = 0;
+			boolean outOfView = position.y < Constants.CARROTS_RETIRE_MIN_Y
+				|| Math.abs(position.x - viewCenter.x) > Constants.CARROTS_RETIRE_DISTANCE;
+			if (outOfView || bodyComponent.timeResting > Constants.CARROTS_REST_TIMEOUT)
+				retire(level, i);
+		}
+	}
+
+	/**
+	 * RetireAll method
+	 * @param level
+	 */
+	public void retireAll (Level level)
+	{
+		for (int i = spawned.size - 1; i >= 0; i--)
+			retire(level, i);
+	}
+
+	/**
+	 * GetSpawnedCount method
+	 * @return
+	 */
+	public int getSpawnedCount ()
+	{
+		return spawned.size;
+	}
+
+	/**
+	 * GetFreeCount method
+	 * @return
+	 */
+	public int getFreeCount ()
+	{
+		return free.size;
+	}
+
+	/**
+	 * Retire method
+	 * @param level
+	 * @param index in the spawned carrots
+	 */
+	private void retire (Level level, int index)
+	{
+		Entity carrot = spawned.removeIndex(index);
+		level.entities.removeEntity(carrot);
+		Mappers.body.get(carrot).body.setActive(false);
+		free.add(carrot);
+	}
+}
@@ -1,10 +1,11 @@
 package com.brooks.gdx.game;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.utils.Array;
-import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.badlogic.gdx.utils.IntSet;
 import com.brooks.gdx.game.objects.Clouds;
 import com.brooks.gdx.game.objects.Mountains;
 import com.brooks.gdx.game.objects.Rock;
@@ -12,8 +13,18 @@ import com.brooks.gdx.game.objects.WaterOverlay;
 import com.brooks.gdx.game.objects.BunnyHead;
 import com.brooks.gdx.game.objects.Feather;
 import com.brooks.gdx.game.objects.GoldCoin;
-import com.brooks.gdx.game.objects.Carrot;
 import com.brooks.gdx.game.objects.Goal;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.ecs.EcsWorld;
+import com.brooks.gdx.game.ecs.components.MotionComponent;
+import com.brooks.gdx.game.ecs.components.TransformComponent;
+import com.brooks.gdx.game.util.ActivityIndex;
+import com.brooks.gdx.game.util.ItemStore;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.CullStats;
+import com.brooks.gdx.game.util.GamePools;
+import com.brooks.gdx.game.util.LevelData;
+import com.brooks.gdx.game.util.SpatialHashGrid;
 
 /**
  * Created by: Becky Brooks
@@ -24,16 +35,24 @@ public class Level
 	public static final String TAG = Level.class.getName();
 	public BunnyHead bunnyHead;
 	//Objects
-	public Array<GoldCoin> goldcoins;
-	public Array<Feather> feathers;
+	//Items sorted by x with position, animation time and state in columns, collected ones stay flagged in place
+	public ItemStore<GoldCoin> goldcoins;
+	public ItemStore<Feather> feathers;
 	public Array<Rock> rocks;
-	public Array<Carrot> carrots;
+	//Objects of block types without a collection of their own, added through add()
+	public Array<AbstractGameObject> objects;
+	//Entities run by the Ashley systems (the bunny's motion and the goal celebration carrots)
+	public EcsWorld entities;
+	//Chunk streamer, null unless the level is wide enough to be streamed
+	public LevelStreamer streamer;
 	
-	//State the color pixel that represents each asset
+	//State the color pixel that represents each asset (see BlockRegistry for the objects they create)
 	public enum BLOCK_TYPE
 	{
 		EMPTY(0, 0, 0), //black
 		ROCK(0, 255, 0), //green
+		ROCK_MOVING(0, 255, 255), //cyan
+		ROCK_LOOPING(0, 0, 255), //blue
 		PLAYER_SPAWNPOINT(255, 255, 255), //white
 		ITEM_FEATHER(255, 0, 255), //purple
 		ITEM_GOLD_COIN(255, 255, 0), //yellow
@@ -57,6 +76,28 @@ public class Level
 		}
 	}
 
+	//Collision broadphase
+	public SpatialHashGrid grid;
+	//Rocks and other objects by x, only the ones around the camera are awake (the item stores do the same for items)
+	public ActivityIndex<Rock> rockActivity;
+	public ActivityIndex<AbstractGameObject> objectActivity;
+	//Simulated seconds since the level started
+	public float time;
+	//Level time the rocks are drawn at, between the last two ticks
+	private float renderTime;
+	//Cells (see RockMesh.getCell()) whose rocks were added or removed since a RockMesh baked them last
+	public final IntSet changedRockCells = new IntSet();
+
+	//View window of the last frame, widened by Constants.VIEW_CULL_MARGIN; objects outside it aren't drawn
+	private float viewLeft = -Float.MAX_VALUE;
+	private float viewBottom = -Float.MAX_VALUE;
+	private float viewRight = Float.MAX_VALUE;
+	private float viewTop = Float.MAX_VALUE;
+	//Objects inside the view window, filled before each render
+	private final Array<Rock> visibleRocks = new Array<Rock>();
+	private final Array<AbstractGameObject> visibleObjects = new Array<AbstractGameObject>();
+	public final CullStats cullStats = new CullStats();
+
 	//Decoration
 	public Clouds clouds;
 	public Mountains mountains;
@@ -69,142 +110,404 @@ public class Level
 	 */
 	public Level (String filename)
 	{
-		init(filename);
+		this(LevelTemplate.get(filename));
+	}
+
+	/**
+	 * Level method
+	 * Builds a fresh level from the parsed template without touching any files
+	 * @param template
+	 */
+	public Level (LevelTemplate template)
+	{
+		init(template.data);
 	}
 
 	/**
 	 * Init method
-	 * @param filename
+	 * Creates the game objects from the decoded block tables
+	 * @param data
 	 */
-	private void init (String filename)
+	private void init (LevelData data)
 	{
+		//Wide levels are streamed in chunks around the camera
+		boolean chunked = data.width >= Constants.LEVEL_CHUNKED_MIN_WIDTH;
 		//Player character
 		bunnyHead = null;
 		//Objects
 		rocks = new Array<Rock>();
-		goldcoins = new Array<GoldCoin>();
-		feathers = new Array<Feather>();
-		carrots = new Array<Carrot>();
-
-		//Load image file that represents the level data
-		Pixmap pixmap = new Pixmap(Gdx.files.internal(filename));
-		//Scan pixels from top-left to bottom-right
-		int lastPixel = -1;
-		for (int pixelY = 0; pixelY < pixmap.getHeight(); pixelY++)
+		goldcoins = new ItemStore<GoldCoin>();
+		feathers = new ItemStore<Feather>();
+		objects = new Array<AbstractGameObject>();
+		entities = new EcsWorld();
+		time = 0;
+		rockActivity = new ActivityIndex<Rock>();
+		objectActivity = new ActivityIndex<AbstractGameObject>();
+		//Rocks only, items and the goal are found by their Box2D sensors
+		grid = new SpatialHashGrid(Constants.COLLISION_GRID_CELL_SIZE);
+
+		BlockRegistry registry = BlockRegistry.instance;
+		for (int t = 0; t < data.getColorCount(); t++)
 		{
-			for (int pixelX = 0; pixelX < pixmap.getWidth(); pixelX++)
+			int color = data.getColor(t);
+			BlockFactory factory = registry.get(color);
+			//Compiled levels may still contain colors that are no longer registered
+			if (factory == null)
 			{
-				AbstractGameObject obj = null;
-				float offsetHeight = 0;
-				//Height grows from bottom to top
-				float baseHeight = pixmap.getHeight() - pixelY;
-				//Get color of current pixel as 32-bit RGBA value
-				int currentPixel = pixmap.getPixel(pixelX, pixelY);
-				//Find matching color value to identify block type at (x,y) point and create the corresponding game object if there is a match
-
-				//Empty space
-				if (BLOCK_TYPE.EMPTY.sameColor(currentPixel))
-				{
-					//do nothing
-				}
-				//Rock
-				else if (BLOCK_TYPE.ROCK.sameColor(currentPixel))
-				{
-					if (lastPixel != currentPixel)
-					{
-						obj = new Rock();
-						float heightIncreaseFactor = 0.25f;
-						offsetHeight = -2.5f;
-						obj.position.set(pixelX, baseHeight * obj.dimension.y * heightIncreaseFactor + offsetHeight);
-						rocks.add((Rock)obj);
-					}
-					else
-					{
-						rocks.get(rocks.size - 1).increaseLength(1);
-					}
-				}
-				//Player spawn point
-				else if (BLOCK_TYPE.PLAYER_SPAWNPOINT.sameColor(currentPixel))
-				{
-					obj = new BunnyHead();
-					offsetHeight = -3.0f;
-					obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight);
-					bunnyHead = (BunnyHead) obj;
-				}
-				//Feather
-				else if (BLOCK_TYPE.ITEM_FEATHER.sameColor(currentPixel))
-				{
-					obj = new Feather();
-					offsetHeight = -1.5f;
-					obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight);
-					feathers.add((Feather)obj);
-				}
-				//Gold coin
-				else if (BLOCK_TYPE.ITEM_GOLD_COIN.sameColor(currentPixel))
-				{
-						obj = new GoldCoin();
-						offsetHeight = -1.5f;
-						obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight);
-						goldcoins.add((GoldCoin)obj);
-				}
-				//Goal
-				else if (BLOCK_TYPE.GOAL.sameColor(currentPixel))
-				{
-					obj = new Goal();
-					offsetHeight = -7.0f;
-					obj.position.set(pixelX, baseHeight + offsetHeight);
-					goal = (Goal)obj;
-				}
-				//Unknown object / pixel color
-				else
-				{
-					int r = 0xff & (currentPixel >>> 24); //Red color channel
-					int g = 0xff & (currentPixel >>> 16); //Green color channel
-					int b = 0xff & (currentPixel >>> 8); //Blue color channel
-					int a = 0xff & currentPixel; //Alpha channel
-					Gdx.app.error(TAG, "Unknown object at x<" + pixelX + "> y<" + pixelY + ">: r<" + r + "> g<" + g + "> b<" + b + "> a<" + a + ">");
-				}
-				lastPixel = currentPixel;
+				Gdx.app.error(TAG, "No block type registered for color " + Integer.toHexString(color));
+				continue;
 			}
+			//Streamed blocks are created when their chunk is loaded
+			if (chunked && !factory.global)
+				continue;
+			LevelData.Table table = data.getTable(color);
+			for (int i = 0; i < table.size(); i += LevelData.STRIDE)
+				factory.add(this, factory.create(table.get(i), table.get(i + 1), table.get(i + 2), data.height));
 		}
+		streamer = chunked ? new LevelStreamer(this, data, registry, Constants.LEVEL_CHUNK_WIDTH) : null;
+		//The bunny is moved by the MotionSystem
+		if (bunnyHead != null)
+			addMotionEntity(bunnyHead);
 
 		//Decoration
-		clouds = new Clouds(pixmap.getWidth());
+		clouds = new Clouds();
 		clouds.position.set(0, 2);
-		mountains = new Mountains(pixmap.getWidth());
+		mountains = new Mountains(data.width);
 		mountains.position.set(-1, 1);
-		waterOverlay = new WaterOverlay(pixmap.getWidth());
+		waterOverlay = new WaterOverlay(data.width);
 		waterOverlay.position.set(0, -3.75f);
+	}
+
+	/**
+	 * AddMotionEntity method
+	 * Lets the MotionSystem integrate the object, the entity's components share the object's vectors
+	 * @param object
+	 */
+	private void addMotionEntity (AbstractGameObject object)
+	{
+		Entity entity = new Entity();
+		TransformComponent transform = new TransformComponent();
+		transform.position = object.position;
+		MotionComponent motion = new MotionComponent();
+		motion.velocity = object.velocity;
+		motion.terminalVelocity = object.terminalVelocity;
+		motion.friction = object.friction;
+		motion.acceleration = object.acceleration;
+		entity.add(transform);
+		entity.add(motion);
+		entities.addEntity(entity);
+	}
+
+	/**
+	 * Add method
+	 * Generic hook for block factories: the object is updated while it is near the camera and drawn while it is in
+	 * view, so a new block type needs no changes here. It isn't part of level snapshots.
+	 * @param object
+	 */
+	public void add (AbstractGameObject object)
+	{
+		objects.add(object);
+		objectActivity.add(object, time);
+	}
+
+	/**
+	 * Remove method
+	 * @param object added with add()
+	 */
+	public void remove (AbstractGameObject object)
+	{
+		objects.removeValue(object, true);
+		objectActivity.remove(object);
+	}
+
+	/**
+	 * AddRock method
+	 * @param rock
+	 */
+	public void addRock (Rock rock)
+	{
+		rocks.add(rock);
+		rockActivity.add(rock, time);
+		grid.insert(rock);
+		changedRockCells.add(RockMesh.getCell(rock));
+	}
+
+	/**
+	 * RemoveRock method
+	 * @param rock
+	 */
+	public void removeRock (Rock rock)
+	{
+		rocks.removeValue(rock, true);
+		rockActivity.remove(rock);
+		grid.remove(rock);
+		changedRockCells.add(RockMesh.getCell(rock));
+	}
+
+	/**
+	 * CreateSnapshot method
+	 * Captures the current state, normally right after the level and its bodies were created
+	 * @return
+	 */
+	public LevelSnapshot createSnapshot ()
+	{
+		LevelSnapshot snapshot = new LevelSnapshot();
+		snapshot.capture(this);
+		return snapshot;
+	}
+
+	/**
+	 * RestoreSnapshot method
+	 * Resets the existing objects and bodies to the captured state
+	 * @param snapshot
+	 */
+	public void restoreSnapshot (LevelSnapshot snapshot)
+	{
+		if (streamer != null)
+		{
+			//Streamed objects come and go, so the chunks are loaded again around the spawn point
+			streamer.reset();
+			snapshot.restoreBunnyHead(bunnyHead);
+			streamer.update(bunnyHead.position.x);
+		}
+		else
+		{
+			snapshot.restore(this);
+			resetActivity();
+		}
+	}
+
+	/**
+	 * Release method
+	 * Returns the rocks, items, goal and bunny to the pools when the level won't be played anymore.
+	 * Their bodies belong to the level's Box2D world, which must be disposed afterwards.
+	 */
+	public void release ()
+	{
+		GamePools pools = GamePools.instance;
+		for (int i = 0; i < rocks.size; i++)
+			pools.rocks.free(rocks.get(i));
+		rocks.clear();
+		for (int i = 0; i < goldcoins.size(); i++)
+			pools.goldCoins.free(goldcoins.get(i));
+		goldcoins.clear();
+		for (int i = 0; i < feathers.size(); i++)
+			pools.feathers.free(feathers.get(i));
+		feathers.clear();
+		objects.clear();
+		objectActivity.rebuild(objects, 0, time);
+		if (goal != null)
+			pools.goals.free(goal);
+		goal = null;
+		if (bunnyHead != null)
+			pools.bunnyHeads.free(bunnyHead);
+		bunnyHead = null;
+	}
+
+	/**
+	 * UpdateActivity method
+	 * Wakes the objects around the given x position and puts the others to sleep
+	 * @param centerX
+	 */
+	public void updateActivity (float centerX)
+	{
+		float left = centerX - Constants.LEVEL_ACTIVE_HALF_WIDTH;
+		float right = centerX + Constants.LEVEL_ACTIVE_HALF_WIDTH;
+		rockActivity.update(left, right, time);
+		goldcoins.updateActivity(left, right, time);
+		feathers.updateActivity(left, right, time);
+		objectActivity.update(left, right, time);
+	}
+
+	/**
+	 * ResetActivity method
+	 * Puts all rocks and uncollected items to sleep, the next updateActivity() wakes the ones around the camera
+	 */
+	public void resetActivity ()
+	{
+		rockActivity.rebuild(rocks, rocks.size, time);
+		goldcoins.resetActivity(time);
+		feathers.resetActivity(time);
+		objectActivity.rebuild(objects, objects.size, time);
+	}
+
+	/**
+	 * SavePreviousState method
+	 * Stores the state of the moving objects before a simulation tick
+	 */
+	public void savePreviousState ()
+	{
+		bunnyHead.savePreviousState();
+		Array<Rock> activeRocks = rockActivity.getActive();
+		for (int i = 0; i < activeRocks.size; i++)
+			activeRocks.get(i).savePreviousState();
+		//Entities save theirs in their systems
+	}
+
+	/**
+	 * BeginInterpolation method
+	 * Moves the moving objects between their previous and current tick state for rendering
+	 * @param alpha
+	 */
+	public void beginInterpolation (float alpha)
+	{
+		renderTime = time - (1 - alpha) / Constants.SIMULATION_TICK_RATE;
+		bunnyHead.beginInterpolation(alpha);
+		Array<Rock> activeRocks = rockActivity.getActive();
+		for (int i = 0; i < activeRocks.size; i++)
+			activeRocks.get(i).beginInterpolation(alpha);
+		entities.setInterpolationAlpha(alpha);
+	}
+
+	/**
+	 * EndInterpolation method
+	 */
+	public void endInterpolation ()
+	{
+		bunnyHead.endInterpolation();
+		Array<Rock> activeRocks = rockActivity.getActive();
+		for (int i = 0; i < activeRocks.size; i++)
+			activeRocks.get(i).endInterpolation();
+	}
+
+	/**
+	 * SetViewWindow method
+	 * Tells the level which part of the world the camera shows, only the objects in that part are drawn
+	 * @param left
+	 * @param bottom
+	 * @param right
+	 * @param top
+	 */
+	public void setViewWindow (float left, float bottom, float right, float top)
+	{
+		clouds.setViewWindow(left, right);
+		waterOverlay.setViewWindow(left, right);
+		mountains.setViewWindow(left, right);
+		//Sprites are drawn a little outside of their bounds
+		float margin = Constants.VIEW_CULL_MARGIN;
+		viewLeft = left - margin;
+		viewBottom = bottom - margin;
+		viewRight = right + margin;
+		viewTop = top + margin;
+		entities.setViewWindow(viewLeft, viewBottom, viewRight, viewTop);
+	}
+
+	/**
+	 * InView method
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 * @return whether the rectangle overlaps the view window
+	 */
+	private boolean inView (float x, float y, float width, float height)
+	{
+		return x <= viewRight && x + width >= viewLeft && y <= viewTop && y + height >= viewBottom;
+	}
 
-		//Free memory
-		pixmap.dispose();
-		Gdx.app.debug(TAG, "level '" + filename + "' loaded");
+	/**
+	 * CullVertically method
+	 * Drops the objects above or below the view window, the rest is counted as drawn
+	 * @param objects found in the x range of the view
+	 * @param total number of objects the x range was searched in
+	 */
+	private void cullVertically (Array<? extends AbstractGameObject> objects, int total)
+	{
+		for (int i = objects.size - 1; i >= 0; i--)
+		{
+			AbstractGameObject object = objects.get(i);
+			if (object.position.y > viewTop || object.position.y + object.dimension.y < viewBottom)
+				objects.removeIndex(i);
+		}
+		cullStats.add(objects.size, total - objects.size);
 	}
 
 	/**
 	 * Render method
+	 * Draws the whole level with the batch, rocks as sprites
 	 * @param batch
 	 */
 	public void render (SpriteBatch batch)
+	{
+		renderBackground(batch);
+		render(batch, false);
+	}
+
+	/**
+	 * RenderBackground method
+	 * Draws what lies behind the rocks
+	 * @param batch
+	 */
+	public void renderBackground (SpriteBatch batch)
 	{
 		//Draw mountains
 		mountains.render(batch);
+	}
+
+	/**
+	 * RenderRocks method
+	 * Draws the rocks baked into the mesh, between renderBackground() and render() and outside of a batch.
+	 * The mountains have a texture of their own, so ending the batch after them adds no flush.
+	 * @param rockMesh rocks baked for this level
+	 * @param projection
+	 * @return whether the baked rocks were drawn, render() must leave them out then
+	 */
+	public boolean renderRocks (RockMesh rockMesh, Matrix4 projection)
+	{
+		if (!rockMesh.isReady())
+			return false;
+		rockMesh.render(projection, renderTime, viewLeft, viewRight);
+		return true;
+	}
+
+	/**
+	 * Render method
+	 * Draws everything in front of the background
+	 * @param batch
+	 * @param rocksBaked whether renderRocks() drew the shader-driven rocks
+	 */
+	public void render (SpriteBatch batch, boolean rocksBaked)
+	{
+		cullStats.reset();
 		//Draw goal
-		goal.render(batch);
-		//Draw rocks
-		for (Rock rock : rocks)
-			rock.render(batch);
-		//Draw Gold Coins
-		for (GoldCoin goldCoin : goldcoins)
-			goldCoin.render(batch);
+		if (inView(goal.position.x - goal.origin.x, goal.position.y - goal.origin.y, goal.dimension.x, goal.dimension.y))
+		{
+			goal.render(batch);
+			cullStats.add(1, 0);
+		}
+		else
+			cullStats.add(0, 1);
+		//Draw rocks, the sorted indexes find the ones in the x range of the view with a binary search
+		rockActivity.collect(viewLeft, viewRight, visibleRocks);
+		cullVertically(visibleRocks, rockActivity.size());
+		for (int i = 0; i < visibleRocks.size; i++)
+		{
+			//The baked rocks are drawn by the mesh, the rest stay in the batch
+			if (!rocksBaked || !visibleRocks.get(i).isShaderDriven())
+				visibleRocks.get(i).render(batch);
+		}
+		//Draw Gold Coins, the stores find the items in view with a binary search over their x column
+		int drawn = goldcoins.render(batch, Assets.instance.goldCoin.animGoldCoin, viewLeft, viewBottom, viewRight, viewTop);
+		cullStats.add(drawn, goldcoins.getLiveCount() - drawn);
 		//Draw Feathers
-		for (Feather feather : feathers)
-			feather.render(batch);
+		drawn = feathers.render(batch, Assets.instance.feather.feather, viewLeft, viewBottom, viewRight, viewTop);
+		cullStats.add(drawn, feathers.getLiveCount() - drawn);
+		//Draw the objects of other block types
+		objectActivity.collect(viewLeft, viewRight, visibleObjects);
+		cullVertically(visibleObjects, objectActivity.size());
+		for (int i = 0; i < visibleObjects.size; i++)
+			visibleObjects.get(i).render(batch);
 		//Draw carrots
-		for (Carrot carrot : carrots)
-			carrot.render(batch);
-		//Draw Player Character
-		bunnyHead.render(batch);
+		entities.render(batch);
+		cullStats.add(entities.getRenderSystem().getDrawnCount(), entities.getRenderSystem().getCulledCount());
+		//Draw Player Character, its dust stays close to it
+		if (inView(bunnyHead.position.x, bunnyHead.position.y, bunnyHead.dimension.x, bunnyHead.dimension.y))
+		{
+			bunnyHead.render(batch);
+			cullStats.add(1, 0);
+		}
+		else
+			cullStats.add(0, 1);
 		//Draw waterOverlay
 		waterOverlay.render(batch);
 		//Draw Clouds
@@ -217,15 +520,25 @@ public class Level
 	 */
 	public void update (float deltaTime)
 	{
+		time += deltaTime;
 		bunnyHead.update(deltaTime);
-		for (Rock rock : rocks)
+		entities.updateMotion(deltaTime);
+		//Only the objects around the camera are simulated
+		Array<Rock> activeRocks = rockActivity.getActive();
+		for (int i = 0; i < activeRocks.size; i++)
+		{
+			Rock rock = activeRocks.get(i);
 			rock.update(deltaTime);
-		for (GoldCoin goldCoin : goldcoins)
-			goldCoin.update(deltaTime);
-		for (Feather feather : feathers)
-			feather.update(deltaTime);
-		for (Carrot carrot : carrots)
-			carrot.update(deltaTime);
+			rock.updateMotion(time);
+			//Moving rocks only change cells when they cross a cell border
+			grid.update(rock);
+		}
+		//Items only animate, the time columns of the awake ones are advanced
+		goldcoins.update(deltaTime);
+		feathers.update(deltaTime);
+		Array<AbstractGameObject> activeObjects = objectActivity.getActive();
+		for (int i = 0; i < activeObjects.size; i++)
+			activeObjects.get(i).update(deltaTime);
 		clouds.update(deltaTime);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.brooks.gdx.game;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Builds the next level on a background thread while the current one is played.
+ * Parsing the level file and creating the game objects don't touch OpenGL or Box2D,
+ * so the staged level only needs its bodies created when it is taken over.
+ */
+public class LevelPreloader implements Disposable
+{
+	//Declare variables
+	public static final String TAG = LevelPreloader.class.getName();
+	private final ExecutorService executor;
+	private Future<Level> pending;
+	private String pendingFilename;
+
+	/**
+	 * LevelPreloader method
+	 */
+	public LevelPreloader ()
+	{
+		executor = Executors.newSingleThreadExecutor(new ThreadFactory()
+		{
+			@Override
+			public Thread newThread (Runnable runnable)
+			{
+				Thread thread = new Thread(runnable, "level-preloader");
+				//Never keeps the application alive
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Preload method
+	 * Starts building the level in the background, replacing any level staged before
+	 * @param filename
+	 */
+	public synchronized void preload (final String filename)
+	{
+		if (filename.equals(pendingFilename))
+			return;
+		cancel();
+		pendingFilename = filename;
+		pending = executor.submit(new Callable<Level>()
+		{
+			@Override
+			public Level call ()
+			{
+				long start = System.nanoTime();
+				Level level = new Level(LevelTemplate.get(filename));
+				Gdx.app.debug(TAG, "level '" + filename + "' staged in " + (System.nanoTime() - start) / 1000000 + " ms");
+				return level;
+			}
+		});
+	}
+
+	/**
+	 * IsReady method
+	 * @param filename
+	 * @return whether the level is staged and take() returns without waiting
+	 */
+	public synchronized boolean isReady (String filename)
+	{
+		return filename.equals(pendingFilename) && pending.isDone();
+	}
+
+	/**
+	 * Take method
+	 * Hands over the staged level, building it now if it was never preloaded
+	 * @param filename
+	 * @return
+	 */
+	public synchronized Level take (String filename)
+	{
+		if (!filename.equals(pendingFilename))
+		{
+			Gdx.app.debug(TAG, "level '" + filename + "' was not preloaded");
+			cancel();
+			return new Level(LevelTemplate.get(filename));
+		}
+		if (!pending.isDone())
+			Gdx.app.debug(TAG, "waiting for level '" + filename + "'");
+		try
+		{
+			return pending.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new GdxRuntimeException("Interrupted while loading level '" + filename + "'", e);
+		}
+		catch (ExecutionException e)
+		{
+			throw new GdxRuntimeException("Couldn't load level '" + filename + "'", e.getCause());
+		}
+		finally
+		{
+			pending = null;
+			pendingFilename = null;
+		}
+	}
+
+	/**
+	 * Cancel method
+	 * Drops the staged level, its objects go back to the pools if it is already built
+	 */
+	public synchronized void cancel ()
+	{
+		if (pending != null && !pending.cancel(false))
+		{
+			try
+			{
+				pending.get().release();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			catch (ExecutionException e)
+			{
+				//Nothing was built
+			}
+		}
+		pending = null;
+		pendingFilename = null;
+	}
+
+	/**
+	 * Dispose method
+	 */
+	@Override
+	public void dispose ()
+	{
+		cancel();
+		executor.shutdownNow();
+	}
+}
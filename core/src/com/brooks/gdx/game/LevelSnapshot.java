@@ -0,0 +1,168 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.math.Vector2;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.objects.BunnyHead;
+import com.brooks.gdx.game.objects.BunnyHead.JUMP_STATE;
+import com.brooks.gdx.game.objects.BunnyHead.VIEW_DIRECTION;
+import com.brooks.gdx.game.objects.Feather;
+import com.brooks.gdx.game.objects.GoldCoin;
+import com.brooks.gdx.game.objects.Rock;
+
+/**
+ * Start state of a level: level clock, item positions, collected flags and bunny state. Rocks are placed by the clock.
+ * Restoring writes the state back into the existing objects and bodies without allocating.
+ */
+public class LevelSnapshot
+{
+	//Declare variables
+	private static final int ITEM_STRIDE = 2;
+	private float time;
+	private float[] goldcoins;
+	private float[] feathers;
+	private GoldCoin[] goldCoinRefs;
+	private Feather[] featherRefs;
+	private int goldCoinCount;
+	private int featherCount;
+	//Bunny head
+	private final Vector2 bunnyPosition = new Vector2();
+	private final Vector2 bunnyVelocity = new Vector2();
+	private float bunnyRotation;
+	private JUMP_STATE bunnyJumpState;
+	private float bunnyTimeJumping;
+	private VIEW_DIRECTION bunnyViewDirection;
+	private boolean bunnyHasFeatherPowerup;
+	private float bunnyTimeLeftFeatherPowerup;
+	private Animation bunnyAnimation;
+	private float bunnyStateTime;
+
+	/**
+	 * Capture method
+	 * @param level
+	 */
+	public void capture (Level level)
+	{
+		//Rocks follow closed-form paths of the level clock
+		time = level.time;
+		//Items: animation time and collected flag, items never move. The item order changes as items are
+		//collected, so the items themselves are kept to restore them
+		goldCoinCount = level.goldcoins.size();
+		goldcoins = ensureCapacity(goldcoins, goldCoinCount * ITEM_STRIDE);
+		if (goldCoinRefs == null || goldCoinRefs.length < goldCoinCount)
+			goldCoinRefs = new GoldCoin[goldCoinCount];
+		for (int i = 0, j = 0; i < goldCoinCount; i++, j += ITEM_STRIDE)
+		{
+			GoldCoin goldCoin = level.goldcoins.get(i);
+			goldCoinRefs[i] = goldCoin;
+			goldcoins[j] = level.goldcoins.getStateTime(goldCoin);
+			goldcoins[j + 1] = goldCoin.collected ? 1 : 0;
+		}
+		featherCount = level.feathers.size();
+		feathers = ensureCapacity(feathers, featherCount * ITEM_STRIDE);
+		if (featherRefs == null || featherRefs.length < featherCount)
+			featherRefs = new Feather[featherCount];
+		for (int i = 0, j = 0; i < featherCount; i++, j += ITEM_STRIDE)
+		{
+			Feather feather = level.feathers.get(i);
+			featherRefs[i] = feather;
+			feathers[j] = level.feathers.getStateTime(feather);
+			feathers[j + 1] = feather.collected ? 1 : 0;
+		}
+		//Bunny head
+		BunnyHead bunnyHead = level.bunnyHead;
+		bunnyPosition.set(bunnyHead.position);
+		bunnyVelocity.set(bunnyHead.velocity);
+		bunnyRotation = bunnyHead.rotation;
+		bunnyJumpState = bunnyHead.jumpState;
+		bunnyTimeJumping = bunnyHead.timeJumping;
+		bunnyViewDirection = bunnyHead.viewDirection;
+		bunnyHasFeatherPowerup = bunnyHead.hasFeatherPowerup;
+		bunnyTimeLeftFeatherPowerup = bunnyHead.timeLeftFeatherPowerup;
+		bunnyAnimation = bunnyHead.animation;
+		bunnyStateTime = bunnyHead.stateTime;
+	}
+
+	/**
+	 * Restore method
+	 * The level must hold the same rocks and items as when the snapshot was captured
+	 * @param level
+	 */
+	public void restore (Level level)
+	{
+		level.time = time;
+		for (int i = 0; i < level.rocks.size; i++)
+		{
+			Rock rock = level.rocks.get(i);
+			rock.updateMotion(time);
+			//Waking moves the body to the rock and starts a new path segment
+			level.grid.update(rock);
+		}
+		//Mark every item live again, then deactivate the ones collected at capture time
+		level.goldcoins.activateAll();
+		for (int i = 0, j = 0; i < goldCoinCount; i++, j += ITEM_STRIDE)
+		{
+			GoldCoin goldCoin = goldCoinRefs[i];
+			level.goldcoins.setStateTime(goldCoin, goldcoins[j]);
+			goldCoin.collected = goldcoins[j + 1] != 0;
+			restoreBody(goldCoin, goldCoin.collected);
+			if (goldCoin.collected)
+				level.goldcoins.deactivate(goldCoin);
+		}
+		level.feathers.activateAll();
+		for (int i = 0, j = 0; i < featherCount; i++, j += ITEM_STRIDE)
+		{
+			Feather feather = featherRefs[i];
+			level.feathers.setStateTime(feather, feathers[j]);
+			feather.collected = feathers[j + 1] != 0;
+			restoreBody(feather, feather.collected);
+			if (feather.collected)
+				level.feathers.deactivate(feather);
+		}
+		restoreBunnyHead(level.bunnyHead);
+	}
+
+	/**
+	 * RestoreBunnyHead method
+	 * @param bunnyHead
+	 */
+	public void restoreBunnyHead (BunnyHead bunnyHead)
+	{
+		bunnyHead.position.set(bunnyPosition);
+		bunnyHead.velocity.set(bunnyVelocity);
+		bunnyHead.rotation = bunnyRotation;
+		bunnyHead.jumpState = bunnyJumpState;
+		bunnyHead.timeJumping = bunnyTimeJumping;
+		bunnyHead.viewDirection = bunnyViewDirection;
+		bunnyHead.hasFeatherPowerup = bunnyHasFeatherPowerup;
+		bunnyHead.timeLeftFeatherPowerup = bunnyTimeLeftFeatherPowerup;
+		bunnyHead.setAnimation(bunnyAnimation);
+		bunnyHead.stateTime = bunnyStateTime;
+		//Drop the dust of the previous life
+		bunnyHead.dustParticles.reset();
+		bunnyHead.dustParticles.allowCompletion();
+	}
+
+	/**
+	 * RestoreBody method
+	 * Reactivates the sensors of items collected since the snapshot
+	 * @param item
+	 * @param collected
+	 */
+	private static void restoreBody (AbstractGameObject item, boolean collected)
+	{
+		if (item.body != null)
+			item.body.setActive(!collected);
+	}
+
+	/**
+	 * EnsureCapacity method
+	 * @param array
+	 * @param size
+	 * @return
+	 */
+	private static float[] ensureCapacity (float[] array, int size)
+	{
+		return array != null && array.length >= size ? array : new float[size];
+	}
+}
@@ -0,0 +1,244 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.IntMap;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.LevelData;
+
+/**
+ * Streams the non-global blocks of a wide level in fixed-width column chunks.
+ * Only the chunks around the camera have game objects and Box2D bodies.
+ */
+public class LevelStreamer
+{
+	//Declare variables
+	public static final String TAG = LevelStreamer.class.getName();
+	private final Level level;
+	private final int levelHeight;
+	private final int chunkWidth;
+	private final int chunkCount;
+	private final Array<StreamedTable> tables = new Array<StreamedTable>();
+	private World world;
+	private int loadedFirst;
+	private int loadedLast;
+
+	/**
+	 * Streaming state of one block table
+	 */
+	private static class StreamedTable
+	{
+		final BlockFactory factory;
+		final LevelData.Table entries;
+		final ChunkIndex index;
+		//Number of loaded chunks that overlap each block
+		final int[] refs;
+		//Loaded objects by table index
+		final IntMap<AbstractGameObject> loaded = new IntMap<AbstractGameObject>();
+		//Blocks collected in chunks that are no longer loaded
+		final Bits collected = new Bits();
+
+		/**
+		 * StreamedTable method
+		 * @param factory
+		 * @param entries
+		 * @param chunkWidth
+		 * @param chunkCount
+		 */
+		StreamedTable (BlockFactory factory, LevelData.Table entries, int chunkWidth, int chunkCount)
+		{
+			this.factory = factory;
+			this.entries = entries;
+			index = new ChunkIndex(entries, LevelData.STRIDE, factory.run, chunkWidth, chunkCount);
+			refs = new int[entries.size() / LevelData.STRIDE];
+		}
+	}
+
+	/**
+	 * Chunk -> table index lookup, stored as one flat array with per-chunk offsets
+	 */
+	private static class ChunkIndex
+	{
+		final int[] start;
+		final int[] items;
+
+		/**
+		 * ChunkIndex method
+		 * @param table
+		 * @param stride
+		 * @param runs whether the table holds (x, y, length) runs that may span several chunks
+		 * @param chunkWidth
+		 * @param chunkCount
+		 */
+		ChunkIndex (LevelData.Table table, int stride, boolean runs, int chunkWidth, int chunkCount)
+		{
+			start = new int[chunkCount + 1];
+			//Count entries per chunk
+			for (int i = 0; i < table.size(); i += stride)
+			{
+				int last = lastChunk(table, i, runs, chunkWidth, chunkCount);
+				for (int c = table.get(i) / chunkWidth; c <= last; c++)
+					start[c + 1]++;
+			}
+			for (int c = 0; c < chunkCount; c++)
+				start[c + 1] += start[c];
+			//Fill entries
+			items = new int[start[chunkCount]];
+			int[] fill = new int[chunkCount];
+			System.arraycopy(start, 0, fill, 0, chunkCount);
+			for (int i = 0; i < table.size(); i += stride)
+			{
+				int last = lastChunk(table, i, runs, chunkWidth, chunkCount);
+				for (int c = table.get(i) / chunkWidth; c <= last; c++)
+					items[fill[c]++] = i / stride;
+			}
+		}
+
+		/**
+		 * LastChunk method
+		 * @return last chunk touched by the entry, runs that wrap past the right border stay in the last chunk
+		 */
+		private static int lastChunk (LevelData.Table t, int i, boolean runs, int chunkWidth, int chunkCount)
+		{
+			int x = runs ? t.get(i) + t.get(i + 2) - 1 : t.get(i);
+			return Math.min(x / chunkWidth, chunkCount - 1);
+		}
+	}
+
+	/**
+	 * LevelStreamer method
+	 * @param level
+	 * @param data
+	 * @param registry
+	 * @param chunkWidth
+	 */
+	public LevelStreamer (Level level, LevelData data, BlockRegistry registry, int chunkWidth)
+	{
+		this.level = level;
+		this.chunkWidth = chunkWidth;
+		levelHeight = data.height;
+		chunkCount = Math.max(1, (data.width + chunkWidth - 1) / chunkWidth);
+		for (int t = 0; t < data.getColorCount(); t++)
+		{
+			int color = data.getColor(t);
+			BlockFactory factory = registry.get(color);
+			if (factory != null && !factory.global)
+				tables.add(new StreamedTable(factory, data.getTable(color), chunkWidth, chunkCount));
+		}
+		loadedFirst = 0;
+		loadedLast = -1;
+		Gdx.app.debug(TAG, "Streaming level in " + chunkCount + " chunks of " + chunkWidth + " columns");
+	}
+
+	/**
+	 * SetWorld method
+	 * Bodies of rocks loaded from now on are created in this world
+	 * @param world
+	 */
+	public void setWorld (World world)
+	{
+		this.world = world;
+	}
+
+	/**
+	 * Update method
+	 * Loads the chunks around the given x position and unloads the ones that left the window
+	 * @param centerX
+	 */
+	public void update (float centerX)
+	{
+		int center = MathUtils.floor(centerX / chunkWidth);
+		int first = Math.max(0, center - Constants.LEVEL_CHUNK_LOAD_RADIUS);
+		int last = Math.min(chunkCount - 1, center + Constants.LEVEL_CHUNK_LOAD_RADIUS);
+		if (first == loadedFirst && last == loadedLast)
+			return;
+		//Unload first so rocks spanning old and new chunks keep their objects
+		for (int c = loadedFirst; c <= loadedLast; c++)
+		{
+			if (c < first || c > last)
+				unloadChunk(c);
+		}
+		for (int c = first; c <= last; c++)
+		{
+			if (c < loadedFirst || c > loadedLast)
+				loadChunk(c);
+		}
+		loadedFirst = first;
+		loadedLast = last;
+	}
+
+	/**
+	 * Reset method
+	 * Unloads all chunks and forgets collected blocks, the next update loads the chunks again
+	 */
+	public void reset ()
+	{
+		for (int c = loadedFirst; c <= loadedLast; c++)
+			unloadChunk(c);
+		loadedFirst = 0;
+		loadedLast = -1;
+		for (int t = 0; t < tables.size; t++)
+			tables.get(t).collected.clear();
+	}
+
+	/**
+	 * LoadChunk method
+	 * @param chunk
+	 */
+	private void loadChunk (int chunk)
+	{
+		for (int t = 0; t < tables.size; t++)
+		{
+			StreamedTable table = tables.get(t);
+			BlockFactory factory = table.factory;
+			ChunkIndex index = table.index;
+			LevelData.Table entries = table.entries;
+			for (int i = index.start[chunk]; i < index.start[chunk + 1]; i++)
+			{
+				int item = index.items[i];
+				//Runs spanning several chunks are created once
+				if (table.refs[item]++ > 0)
+					continue;
+				int e = item * LevelData.STRIDE;
+				AbstractGameObject object = factory.create(entries.get(e), entries.get(e + 1), entries.get(e + 2), levelHeight);
+				factory.setCollected(object, table.collected.get(item));
+				if (world != null)
+					factory.createBody(world, object);
+				table.loaded.put(item, object);
+				factory.add(level, object);
+			}
+		}
+	}
+
+	/**
+	 * UnloadChunk method
+	 * @param chunk
+	 */
+	private void unloadChunk (int chunk)
+	{
+		for (int t = 0; t < tables.size; t++)
+		{
+			StreamedTable table = tables.get(t);
+			BlockFactory factory = table.factory;
+			ChunkIndex index = table.index;
+			for (int i = index.start[chunk]; i < index.start[chunk + 1]; i++)
+			{
+				int item = index.items[i];
+				if (--table.refs[item] > 0)
+					continue;
+				AbstractGameObject object = table.loaded.remove(item);
+				if (object.body != null && world != null)
+					world.destroyBody(object.body);
+				object.body = null;
+				if (factory.isCollected(object))
+					table.collected.set(item);
+				factory.remove(level, object);
+				factory.free(object);
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.brooks.gdx.game.util.LevelCompiler;
+import com.brooks.gdx.game.util.LevelData;
+import com.brooks.gdx.game.util.ParallelLevelDecoder;
+
+/**
+ * Parsed level file, loaded once and shared by every Level built from it.
+ * Its block tables are read-only, so the template can be shared.
+ */
+public class LevelTemplate
+{
+	//Declare variables
+	public static final String TAG = LevelTemplate.class.getName();
+	private static final ObjectMap<String, LevelTemplate> cache = new ObjectMap<String, LevelTemplate>();
+	public final String filename;
+	final LevelData data;
+
+	/**
+	 * LevelTemplate method
+	 * @param filename
+	 * @param data
+	 */
+	private LevelTemplate (String filename, LevelData data)
+	{
+		this.filename = filename;
+		this.data = data;
+	}
+
+	/**
+	 * Get method
+	 * Returns the cached template of the level file, parsing it on first use
+	 * @param filename
+	 * @return
+	 */
+	public static synchronized LevelTemplate get (String filename)
+	{
+		LevelTemplate template = cache.get(filename);
+		if (template == null)
+		{
+			template = new LevelTemplate(filename, load(filename));
+			cache.put(filename, template);
+		}
+		return template;
+	}
+
+	/**
+	 * ClearCache method
+	 * Drops all parsed templates, the next get() reads the level files again
+	 */
+	public static synchronized void clearCache ()
+	{
+		cache.clear();
+	}
+
+	/**
+	 * Load method
+	 * @param filename
+	 * @return
+	 */
+	private static LevelData load (String filename)
+	{
+		FileHandle source = Gdx.files.internal(filename);
+		//Use the compiled level file if it is up to date
+		LevelData data = LevelCompiler.load(source);
+		if (data == null)
+		{
+			//Load image file that represents the level data
+			Pixmap pixmap = new Pixmap(source);
+			data = ParallelLevelDecoder.decodeLevel(pixmap, BlockRegistry.instance.getColors());
+			//Free memory
+			pixmap.dispose();
+		}
+		Gdx.app.debug(TAG, "level '" + filename + "' parsed");
+		return data;
+	}
+}
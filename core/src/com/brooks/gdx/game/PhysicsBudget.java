@@ -0,0 +1,246 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
+import com.brooks.gdx.game.util.Constants;
+
+/**
+ * Chooses the Box2D solver iterations and sub-steps from the time the world steps take.
+ * The settings form a ladder from the cheapest to the most accurate: iterations grow first, then each tick is
+ * split into sub-steps. A frame whose physics time (averaged) goes over the budget moves one rung down; frames
+ * well under the budget move one rung up, but only while dynamic bodies are awake, since the solver iterations
+ * do nothing for a world of kinematic and static bodies.
+ */
+public class PhysicsBudget
+{
+	//Declare variables
+	public static final String TAG = PhysicsBudget.class.getName();
+	//Weight of the newest frame in the average
+	private static final float AVERAGE_WEIGHT = 0.2f;
+	//Frames under the budget are the ones below this fraction of it
+	private static final float HEADROOM = 0.6f;
+	//Frames in a row that must be under the budget before moving up
+	private static final int FRAMES_BEFORE_RAISE = 30;
+	private final float targetMillis;
+	//Ladder of settings, velocity iterations, position iterations and sub-steps per rung
+	private final IntArray velocityIterations = new IntArray();
+	private final IntArray positionIterations = new IntArray();
+	private final IntArray subSteps = new IntArray();
+	private int rung;
+	private int framesUnderBudget;
+	//Measurements
+	private long frameNanos;
+	private int frameSteps;
+	private float lastStepMillis;
+	private float lastFrameMillis;
+	private float averageFrameMillis;
+	private int awakeBodies;
+
+	/**
+	 * PhysicsBudget method
+	 * Uses the bounds and the budget from Constants and starts with 8 velocity and 3 position iterations
+	 */
+	public PhysicsBudget ()
+	{
+		this(Constants.PHYSICS_BUDGET_MILLIS, Constants.PHYSICS_VELOCITY_ITERATIONS_MIN, Constants.PHYSICS_VELOCITY_ITERATIONS_MAX,
+			Constants.PHYSICS_POSITION_ITERATIONS_MIN, Constants.PHYSICS_POSITION_ITERATIONS_MAX, Constants.PHYSICS_SUB_STEPS_MAX);
+		setSettings(8, 3, 1);
+	}
+
+	/**
+	 * PhysicsBudget method
+	 * @param targetMillis physics time per frame to stay under
+	 * @param minVelocityIterations
+	 * @param maxVelocityIterations
+	 * @param minPositionIterations
+	 * @param maxPositionIterations
+	 * @param maxSubSteps
+	 */
+	public PhysicsBudget (float targetMillis, int minVelocityIterations, int maxVelocityIterations,
+		int minPositionIterations, int maxPositionIterations, int maxSubSteps)
+	{
+		if (minVelocityIterations < 1 || maxVelocityIterations < minVelocityIterations
+			|| minPositionIterations < 1 || maxPositionIterations < minPositionIterations || maxSubSteps < 1)
+			throw new IllegalArgumentException("Invalid iteration or sub-step bounds");
+		this.targetMillis = targetMillis;
+		//Velocity iterations one by one, position iterations follow proportionally
+		int velocityRange = maxVelocityIterations - minVelocityIterations;
+		int positionRange = maxPositionIterations - minPositionIterations;
+		for (int i = 0; i <= velocityRange; i++)
+		{
+			velocityIterations.add(minVelocityIterations + i);
+			positionIterations.add(minPositionIterations + (velocityRange == 0 ? positionRange : Math.round(i * positionRange / (float)velocityRange)));
+			subSteps.add(1);
+		}
+		for (int i = 2; i <= maxSubSteps; i++)
+		{
+			velocityIterations.add(maxVelocityIterations);
+			positionIterations.add(maxPositionIterations);
+			subSteps.add(i);
+		}
+		rung = 0;
+	}
+
+	/**
+	 * Step method
+	 * Advances the world by one tick with the current settings and measures it
+	 * @param world
+	 * @param step duration of the tick
+	 */
+	public void step (World world, float step)
+	{
+		int velocity = velocityIterations.get(rung);
+		int position = positionIterations.get(rung);
+		int count = subSteps.get(rung);
+		float subStep = step / count;
+		long start = System.nanoTime();
+		for (int i = 0; i < count; i++)
+			world.step(subStep, velocity, position);
+		long nanos = System.nanoTime() - start;
+		lastStepMillis = nanos / 1000000.0f;
+		frameNanos += nanos;
+		frameSteps++;
+	}
+
+	/**
+	 * SetAwakeBodies method
+	 * @param count dynamic bodies awake after the last step
+	 */
+	public void setAwakeBodies (int count)
+	{
+		awakeBodies = count;
+	}
+
+	/**
+	 * EndFrame method
+	 * Adjusts the settings from the physics time of the frame; frames without ticks are skipped
+	 */
+	public void endFrame ()
+	{
+		if (frameSteps == 0)
+			return;
+		lastFrameMillis = frameNanos / 1000000.0f;
+		frameNanos = 0;
+		frameSteps = 0;
+		averageFrameMillis += (lastFrameMillis - averageFrameMillis) * AVERAGE_WEIGHT;
+		if (averageFrameMillis > targetMillis && rung > 0)
+		{
+			rung--;
+			framesUnderBudget = 0;
+			//Start the average over at the budget so the next rung gets measured before dropping again
+			averageFrameMillis = Math.min(averageFrameMillis, targetMillis);
+		}
+		else if (averageFrameMillis < targetMillis * HEADROOM && awakeBodies > 0 && rung < subSteps.size - 1)
+		{
+			if (++framesUnderBudget >= FRAMES_BEFORE_RAISE)
+			{
+				rung++;
+				framesUnderBudget = 0;
+			}
+		}
+		else
+			framesUnderBudget = 0;
+	}
+
+	/**
+	 * SetSettings method
+	 * Moves to the lowest rung with at least the given settings
+	 * @param velocity
+	 * @param position
+	 * @param steps
+	 */
+	public void setSettings (int velocity, int position, int steps)
+	{
+		rung = subSteps.size - 1;
+		for (int i = 0; i < subSteps.size; i++)
+		{
+			if (velocityIterations.get(i) >= velocity && positionIterations.get(i) >= position && subSteps.get(i) >= steps)
+			{
+				rung = i;
+				break;
+			}
+		}
+		framesUnderBudget = 0;
+	}
+
+	/**
+	 * GetVelocityIterations method
+	 * @return
+	 */
+	public int getVelocityIterations ()
+	{
+		return velocityIterations.get(rung);
+	}
+
+	/**
+	 * GetPositionIterations method
+	 * @return
+	 */
+	public int getPositionIterations ()
+	{
+		return positionIterations.get(rung);
+	}
+
+	/**
+	 * GetSubSteps method
+	 * @return world steps per tick
+	 */
+	public int getSubSteps ()
+	{
+		return subSteps.get(rung);
+	}
+
+	/**
+	 * GetLastStepMillis method
+	 * @return time of the last tick's world steps
+	 */
+	public float getLastStepMillis ()
+	{
+		return lastStepMillis;
+	}
+
+	/**
+	 * GetLastFrameMillis method
+	 * @return physics time of the last frame that ran ticks
+	 */
+	public float getLastFrameMillis ()
+	{
+		return lastFrameMillis;
+	}
+
+	/**
+	 * GetAverageFrameMillis method
+	 * @return moving average of the physics time per frame
+	 */
+	public float getAverageFrameMillis ()
+	{
+		return averageFrameMillis;
+	}
+
+	/**
+	 * GetTargetMillis method
+	 * @return
+	 */
+	public float getTargetMillis ()
+	{
+		return targetMillis;
+	}
+
+	/**
+	 * GetAwakeBodies method
+	 * @return
+	 */
+	public int getAwakeBodies ()
+	{
+		return awakeBodies;
+	}
+
+	/**
+	 * Describe method
+	 * @return current settings as text
+	 */
+	public String describe ()
+	{
+		return getVelocityIterations() + "/" + getPositionIterations() + " iterations, " + getSubSteps() + " sub-steps";
+	}
+}
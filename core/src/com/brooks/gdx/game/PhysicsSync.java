@@ -0,0 +1,46 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.objects.Rock;
+
+/**
+ * Exchanges state between the game objects and their Box2D bodies once per world step, with as few native calls as possible.
+ * Kinematic bodies (rocks) follow the closed-form motion path of their object: they get a new velocity only when a path segment
+ * changes, and the object position comes from the level clock, so their transforms are never read back.
+ * Dynamic bodies (carrots) are entities, the PhysicsSyncSystem of the level's EcsWorld reads the awake ones back.
+ * Static bodies (items, goal) never move and are skipped.
+ */
+public class PhysicsSync
+{
+	//Declare variables
+	public static final String TAG = PhysicsSync.class.getName();
+
+	/**
+	 * BeforeStep method
+	 * @param level
+	 * @param step duration of the world step, the level clock is already at its end
+	 */
+	public void beforeStep (Level level, float step)
+	{
+		driveRocks(level.rockActivity.getActive(), level.time - step);
+	}
+
+	/**
+	 * DriveRocks method
+	 * Native calls are only made for the rocks that start a new path segment
+	 * @param rocks
+	 * @param clock level time at the start of the world step
+	 * @return number of bodies updated
+	 */
+	public int driveRocks (Array<Rock> rocks, float clock)
+	{
+		int updated = 0;
+		for (int i = 0; i < rocks.size; i++)
+		{
+			Rock rock = rocks.get(i);
+			if (rock.body != null && rock.getMotion() != null && rock.getMotion().driveBody(rock.body, clock))
+				updated++;
+		}
+		return updated;
+	}
+}
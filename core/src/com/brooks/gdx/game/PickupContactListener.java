@@ -0,0 +1,96 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.util.Constants;
+
+/**
+ * Queues the objects whose sensors start touching the bunny's sensor during a world step.
+ * The world is locked while it steps, so the pickups are handled after the step from the queue.
+ */
+public class PickupContactListener implements ContactListener
+{
+	//Declare variables
+	private final Array<AbstractGameObject> touched = new Array<AbstractGameObject>();
+
+	/**
+	 * BeginContact method
+	 */
+	@Override
+	public void beginContact (Contact contact)
+	{
+		Fixture fixtureA = contact.getFixtureA();
+		Fixture fixtureB = contact.getFixtureB();
+		if (isBunny(fixtureA))
+			queue(fixtureB);
+		else if (isBunny(fixtureB))
+			queue(fixtureA);
+	}
+
+	/**
+	 * EndContact method
+	 */
+	@Override
+	public void endContact (Contact contact)
+	{
+	}
+
+	/**
+	 * PreSolve method
+	 */
+	@Override
+	public void preSolve (Contact contact, Manifold oldManifold)
+	{
+	}
+
+	/**
+	 * PostSolve method
+	 */
+	@Override
+	public void postSolve (Contact contact, ContactImpulse impulse)
+	{
+	}
+
+	/**
+	 * GetTouched method
+	 * @return objects touched during the last steps, in contact order
+	 */
+	public Array<AbstractGameObject> getTouched ()
+	{
+		return touched;
+	}
+
+	/**
+	 * Clear method
+	 */
+	public void clear ()
+	{
+		touched.clear();
+	}
+
+	/**
+	 * IsBunny method
+	 * @param fixture
+	 * @return
+	 */
+	private static boolean isBunny (Fixture fixture)
+	{
+		return (fixture.getFilterData().categoryBits & Constants.CATEGORY_BUNNY) != 0;
+	}
+
+	/**
+	 * Queue method
+	 * @param fixture
+	 */
+	private void queue (Fixture fixture)
+	{
+		Object userData = fixture.getBody().getUserData();
+		if (userData instanceof AbstractGameObject && !touched.contains((AbstractGameObject)userData, true))
+			touched.add((AbstractGameObject)userData);
+	}
+}
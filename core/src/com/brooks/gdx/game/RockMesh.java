@@ -0,0 +1,392 @@
+package com.brooks.gdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.brooks.gdx.game.objects.Rock;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.MotionPath;
+import com.brooks.gdx.game.util.PathFollower;
+
+/**
+ * The rock strips of a level baked into static meshes, one per cell of Constants.LEVEL_CHUNK_WIDTH columns, sorted by x.
+ * A rock belongs to the cell the left end of its span is in.
+ * Each vertex carries the parameters of its rock's path and the rock shader moves it with the level time, so after
+ * the bake a frame uploads nothing but the time and the matrix. Only the cells whose rocks were added or removed
+ * (see Level.changedRockCells) are baked again, so loading a streamed chunk uploads that chunk and nothing else.
+ * Rocks whose path the shader can't compute are left to Rock.render().
+ */
+public class RockMesh implements Disposable
+{
+	//Declare variables
+	public static final String TAG = RockMesh.class.getName();
+	//Position, texture coordinates, bob and sweep
+	private static final int VERTEX_SIZE = 2 + 2 + 4 + 4;
+	//Quads a mesh can hold with short indices
+	private static final int MAX_QUADS = 16383;
+	private final ShaderProgram shader;
+	private float[] vertices = new float[0];
+	private Texture texture;
+	//Cells with baked rocks by cell index, and their index range
+	private final IntMap<Cell> cells = new IntMap<Cell>();
+	private final Array<Cell> freeCells = new Array<Cell>();
+	private int firstCell;
+	private int lastCell = -1;
+	private final Array<Rock> cellRocks = new Array<Rock>();
+	//Widest span of a baked rock, rocks of cells this far left of the range may still reach into it
+	private float maxSpanWidth;
+	private Level level;
+	private boolean ready;
+
+	/**
+	 * Rocks of one cell and their mesh
+	 */
+	private static class Cell
+	{
+		Mesh mesh;
+		int quadCapacity;
+		int rockCount;
+		//Per rock: left and right end of its span and its first quad, plus the quad count at the end
+		float[] spanLeft = new float[0];
+		float[] spanRight = new float[0];
+		int[] firstQuad = new int[1];
+	}
+
+	/**
+	 * RockMesh method
+	 */
+	public RockMesh ()
+	{
+		shader = new ShaderProgram(Gdx.files.internal(Constants.shaderRockVertex), Gdx.files.internal(Constants.shaderRockFragment));
+		if (!shader.isCompiled())
+			throw new GdxRuntimeException("Could not compile shader program: " + shader.getLog());
+	}
+
+	/**
+	 * GetCell method
+	 * @param rock
+	 * @return index of the cell the rock is baked in
+	 */
+	public static int getCell (Rock rock)
+	{
+		return MathUtils.floor(rock.getSpanLeft() / Constants.LEVEL_CHUNK_WIDTH);
+	}
+
+	/**
+	 * Update method
+	 * Bakes all rocks of a new level, or the cells of the level whose rocks changed since the last bake
+	 * @param level
+	 */
+	public void update (Level level)
+	{
+		if (level != this.level)
+		{
+			this.level = level;
+			clear();
+			level.changedRockCells.clear();
+			Array<Rock> rocks = level.rocks;
+			for (int i = 0; i < rocks.size; i++)
+				level.changedRockCells.add(getCell(rocks.get(i)));
+		}
+		if (level.changedRockCells.size == 0)
+			return;
+		IntSet.IntSetIterator iterator = level.changedRockCells.iterator();
+		while (iterator.hasNext)
+			bake(iterator.next());
+		level.changedRockCells.clear();
+	}
+
+	/**
+	 * IsReady method
+	 * @return whether the shader-driven rocks are in the mesh; if not, all rocks must be drawn as sprites
+	 */
+	public boolean isReady ()
+	{
+		return ready;
+	}
+
+	/**
+	 * Clear method
+	 * Drops all baked rocks, the meshes are kept for the next cells
+	 */
+	private void clear ()
+	{
+		for (Cell cell : cells.values())
+			freeCells.add(cell);
+		cells.clear();
+		firstCell = 0;
+		lastCell = -1;
+		maxSpanWidth = 0;
+		ready = true;
+	}
+
+	/**
+	 * Bake method
+	 * Bakes the shader-driven rocks of one cell of the level again
+	 * @param index
+	 */
+	private void bake (int index)
+	{
+		//The rock index is sorted by the left end of the span, so the rocks of the cell come in mesh order
+		float cellLeft = index * Constants.LEVEL_CHUNK_WIDTH;
+		float cellRight = cellLeft + Constants.LEVEL_CHUNK_WIDTH;
+		level.rockActivity.collect(cellLeft, cellRight, cellRocks);
+		int quads = 0;
+		for (int i = cellRocks.size - 1; i >= 0; i--)
+		{
+			Rock rock = cellRocks.get(i);
+			if (!rock.isShaderDriven() || getCell(rock) != index)
+				cellRocks.removeIndex(i);
+			else
+				quads += rock.getLength() + 2;
+		}
+		Cell cell = cells.get(index);
+		if (cellRocks.size == 0)
+		{
+			if (cell != null)
+				freeCells.add(cells.remove(index));
+			return;
+		}
+		if (quads > MAX_QUADS)
+		{
+			Gdx.app.error(TAG, quads + " rock quads don't fit into one mesh, rocks are drawn as sprites");
+			ready = false;
+			return;
+		}
+		if (cell == null)
+		{
+			cell = freeCells.size > 0 ? freeCells.pop() : new Cell();
+			cells.put(index, cell);
+			firstCell = cells.size == 1 ? index : Math.min(firstCell, index);
+			lastCell = cells.size == 1 ? index : Math.max(lastCell, index);
+		}
+		ensureCapacity(cell, quads);
+		if (cell.spanLeft.length < cellRocks.size)
+		{
+			cell.spanLeft = new float[cellRocks.size];
+			cell.spanRight = new float[cellRocks.size];
+			cell.firstQuad = new int[cellRocks.size + 1];
+		}
+		TextureRegion edge = Assets.instance.rock.edge;
+		TextureRegion middle = Assets.instance.rock.middle;
+		texture = edge.getTexture();
+		int quad = 0;
+		for (int r = 0; r < cellRocks.size; r++)
+		{
+			Rock rock = cellRocks.get(r);
+			cell.spanLeft[r] = rock.getSpanLeft();
+			cell.spanRight[r] = rock.getSpanRight();
+			maxSpanWidth = Math.max(maxSpanWidth, cell.spanRight[r] - cell.spanLeft[r]);
+			cell.firstQuad[r] = quad;
+			//Same layout as Rock.render(), relative to the point the path moves
+			PathFollower motion = rock.getMotion();
+			float x = motion == null ? rock.position.x : motion.anchor.x;
+			float y = motion == null ? rock.position.y : motion.anchor.y;
+			float width = rock.dimension.x;
+			float height = rock.dimension.y;
+			float edgeWidth = width / 4;
+			quad = putQuad(quad, rock, x - edgeWidth, y, edgeWidth, height, edge, false);
+			for (int i = 0; i < rock.getLength(); i++)
+				quad = putQuad(quad, rock, x + i * width, y, width, height, middle, false);
+			quad = putQuad(quad, rock, x + rock.getLength() * width, y, edgeWidth, height, edge, true);
+		}
+		cell.rockCount = cellRocks.size;
+		cell.firstQuad[cellRocks.size] = quad;
+		cell.mesh.setVertices(vertices, 0, quad * 4 * VERTEX_SIZE);
+		Gdx.app.debug(TAG, "Baked " + cellRocks.size + " rocks of cell " + index + " into " + quad + " quads");
+		cellRocks.clear();
+	}
+
+	/**
+	 * EnsureCapacity method
+	 * Replaces the mesh of the cell with a bigger one if needed, the indices of a quad never change
+	 * @param cell
+	 * @param quads
+	 */
+	private void ensureCapacity (Cell cell, int quads)
+	{
+		if (vertices.length < quads * 4 * VERTEX_SIZE)
+			vertices = new float[quads * 4 * VERTEX_SIZE];
+		if (cell.mesh != null && quads <= cell.quadCapacity)
+			return;
+		if (cell.mesh != null)
+			cell.mesh.dispose();
+		cell.quadCapacity = Math.min(MAX_QUADS, Math.max(64, quads + quads / 2));
+		cell.mesh = new Mesh(true, cell.quadCapacity * 4, cell.quadCapacity * 6,
+			new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"),
+			new VertexAttribute(Usage.Generic, 4, "a_bob"),
+			new VertexAttribute(Usage.Generic, 4, "a_sweep"));
+		short[] indices = new short[cell.quadCapacity * 6];
+		for (int i = 0, v = 0; i < indices.length; i += 6, v += 4)
+		{
+			indices[i] = (short)v;
+			indices[i + 1] = (short)(v + 1);
+			indices[i + 2] = (short)(v + 2);
+			indices[i + 3] = (short)(v + 2);
+			indices[i + 4] = (short)(v + 3);
+			indices[i + 5] = (short)v;
+		}
+		cell.mesh.setIndices(indices);
+	}
+
+	/**
+	 * PutQuad method
+	 * @param quad index of the quad
+	 * @param rock
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 * @param region
+	 * @param flipX
+	 * @return index of the next quad
+	 */
+	private int putQuad (int quad, Rock rock, float x, float y, float width, float height, TextureRegion region, boolean flipX)
+	{
+		float u = flipX ? region.getU2() : region.getU();
+		float u2 = flipX ? region.getU() : region.getU2();
+		int offset = quad * 4 * VERTEX_SIZE;
+		offset = putVertex(offset, rock, x, y, u, region.getV2());
+		offset = putVertex(offset, rock, x, y + height, u, region.getV());
+		offset = putVertex(offset, rock, x + width, y + height, u2, region.getV());
+		putVertex(offset, rock, x + width, y, u2, region.getV2());
+		return quad + 1;
+	}
+
+	/**
+	 * PutVertex method
+	 * @return offset of the next vertex
+	 */
+	private int putVertex (int offset, Rock rock, float x, float y, float u, float v)
+	{
+		float[] vertices = this.vertices;
+		vertices[offset++] = x;
+		vertices[offset++] = y;
+		vertices[offset++] = u;
+		vertices[offset++] = v;
+		//Bob
+		PathFollower motion = rock.getMotion();
+		MotionPath path = motion == null ? null : motion.path;
+		if (path instanceof MotionPath.SineBob)
+		{
+			MotionPath.SineBob bob = (MotionPath.SineBob)path;
+			vertices[offset++] = bob.getAmplitude();
+			vertices[offset++] = bob.getAngularSpeed();
+			vertices[offset++] = bob.getPhase();
+		}
+		else
+		{
+			vertices[offset++] = 0;
+			vertices[offset++] = 0;
+			vertices[offset++] = 0;
+		}
+		vertices[offset++] = motion == null ? 0 : motion.getTimeOffset();
+		//Sweep
+		if (path instanceof MotionPath.PingPong)
+		{
+			MotionPath.PingPong sweep = (MotionPath.PingPong)path;
+			vertices[offset++] = sweep.getDelta().x;
+			vertices[offset++] = sweep.getDelta().y;
+			vertices[offset++] = sweep.getLegDuration();
+			vertices[offset++] = sweep.getTimeOffset();
+		}
+		else
+		{
+			vertices[offset++] = 0;
+			vertices[offset++] = 0;
+			vertices[offset++] = 0;
+			vertices[offset++] = 0;
+		}
+		return offset;
+	}
+
+	/**
+	 * Render method
+	 * Draws the baked rocks whose span overlaps the x range, one draw call per cell, must be called outside of a batch
+	 * @param projection
+	 * @param time level time to show the rocks at
+	 * @param left
+	 * @param right
+	 * @return number of rocks in the drawn range
+	 */
+	public int render (Matrix4 projection, float time, float left, float right)
+	{
+		if (!ready || cells.size == 0)
+			return 0;
+		int from = Math.max(firstCell, MathUtils.floor((left - maxSpanWidth) / Constants.LEVEL_CHUNK_WIDTH));
+		int to = Math.min(lastCell, MathUtils.floor(right / Constants.LEVEL_CHUNK_WIDTH));
+		int drawn = 0;
+		for (int index = from; index <= to; index++)
+		{
+			Cell cell = cells.get(index);
+			if (cell == null)
+				continue;
+			//Rocks are sorted by the left end of their span, binary search for the first one that can reach the range
+			float reach = left - maxSpanWidth;
+			int low = 0;
+			int high = cell.rockCount;
+			while (low < high)
+			{
+				int mid = (low + high) >>> 1;
+				if (cell.spanLeft[mid] < reach)
+					low = mid + 1;
+				else
+					high = mid;
+			}
+			while (low < cell.rockCount && cell.spanRight[low] < left)
+				low++;
+			int end = low;
+			while (end < cell.rockCount && cell.spanLeft[end] <= right)
+				end++;
+			if (end == low)
+				continue;
+			if (drawn == 0)
+			{
+				Gdx.gl.glEnable(GL20.GL_BLEND);
+				Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+				texture.bind();
+				shader.begin();
+				shader.setUniformMatrix("u_projTrans", projection);
+				shader.setUniformi("u_texture", 0);
+				shader.setUniformf("u_time", time);
+			}
+			cell.mesh.render(shader, GL20.GL_TRIANGLES, cell.firstQuad[low] * 6, (cell.firstQuad[end] - cell.firstQuad[low]) * 6);
+			drawn += end - low;
+		}
+		if (drawn > 0)
+		{
+			shader.end();
+			Gdx.gl.glDisable(GL20.GL_BLEND);
+		}
+		return drawn;
+	}
+
+	/**
+	 * Dispose method
+	 */
+	@Override
+	public void dispose ()
+	{
+		clear();
+		for (int i = 0; i < freeCells.size; i++)
+		{
+			if (freeCells.get(i).mesh != null)
+				freeCells.get(i).mesh.dispose();
+		}
+		freeCells.clear();
+		shader.dispose();
+	}
+}
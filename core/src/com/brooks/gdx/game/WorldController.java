@@ -12,10 +12,10 @@ import com.brooks.gdx.game.objects.BunnyHead;
 import com.brooks.gdx.game.objects.BunnyHead.JUMP_STATE;
 import com.brooks.gdx.game.objects.Feather;
 import com.brooks.gdx.game.objects.GoldCoin;
+import com.brooks.gdx.game.objects.Goal;
 import com.badlogic.gdx.Game;
 import com.brooks.gdx.game.screens.MenuScreen;
 import com.brooks.gdx.game.util.AudioManager;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
@@ -23,9 +23,12 @@ import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.World;
-import com.brooks.gdx.game.objects.Carrot;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.brooks.gdx.game.objects.AbstractGameObject;
 import com.badlogic.gdx.Input.Peripheral;
+import com.brooks.gdx.game.util.AllocationCounter;
+import com.brooks.gdx.game.util.GamePools;
 
 /**
  * Created by: Becky Brooks
@@ -40,22 +43,52 @@ public class WorldController extends InputAdapter implements Disposable
 	public int score;
 	private Rectangle r1 = new Rectangle();
 	private Rectangle r2 = new Rectangle();
+	private Array<AbstractGameObject> collisionCandidates = new Array<AbstractGameObject>();
+	private Vector2 rockDisplacement = new Vector2();
+	//Whether a rock carried the bunny during the current step
+	private boolean carried;
+	private final PickupContactListener contactListener = new PickupContactListener();
+	private Body bunnySensor;
+	private CarrotPool carrotPool;
+	private final PhysicsSync physicsSync = new PhysicsSync();
+	private final PhysicsBudget physicsBudget = new PhysicsBudget();
+	//Counts the game and pooled objects created per frame, zero once the pools are warm
+	private final AllocationCounter allocationCounter = new AllocationCounter();
+	private float timeLeftAllocationLog;
+	//Fixed timestep
+	private float tickDuration = 1.0f / Constants.SIMULATION_TICK_RATE;
+	private float accumulator;
 	private float timeLeftGameOverDelay;
 	private Game game;
 	public float livesVisual;
 	public float scoreVisual;
 	private boolean goalReached;
 	public World b2world;
+	private LevelSnapshot levelStart;
+	private int levelStartScore;
+	//Index of the current level in Constants.LEVELS
+	private int levelIndex;
+	private LevelPreloader preloader;
 	private boolean accelerometerAvailable;
+	//Render stats HUD and CSV log, read by the WorldRenderer
+	public boolean showRenderStats;
+	public boolean logRenderStats;
+	//Whether the systems of the level's EcsWorld are timed, the profile is logged at intervals
+	public boolean profileSystems;
+	private float timeLeftProfileLog;
 	
 	/**
 	 * Bunny <-> Rock collisions
+	 * A bunny standing on a moving rock is carried along by what the rock moved during the step
 	 * @param rock
+	 * @param step
 	 */
-	private void onCollisionBunnyHeadWithRock(Rock rock)
+	private void onCollisionBunnyHeadWithRock(Rock rock, float step)
 	{
 		BunnyHead bunnyHead = level.bunnyHead;
-		float heightDifference = Math.abs(bunnyHead.position.y - (rock.position.y + rock.bounds.height));
+		rock.getDisplacement(level.time, step, rockDisplacement);
+		//Measured against where the top was before the step, so a rising rock doesn't push the bunny off the side
+		float heightDifference = Math.abs(bunnyHead.position.y - (rock.position.y - rockDisplacement.y + rock.bounds.height));
 		if (heightDifference > 0.25f)
 		{
 			boolean hitRightEdge = bunnyHead.position.x > (rock.position.x + rock.bounds.width / 2.0f);
@@ -69,11 +102,16 @@ public class WorldController extends InputAdapter implements Disposable
 		switch (bunnyHead.jumpState)
 		{
 			case GROUNDED:
-				break;
 			case FALLING:
 			case JUMP_FALLING:
 				bunnyHead.position.y = rock.position.y + bunnyHead.bounds.height + bunnyHead.origin.y;
 				bunnyHead.jumpState = JUMP_STATE.GROUNDED;
+				//Only one rock carries the bunny, rocks next to each other move alike
+				if (!carried)
+				{
+					bunnyHead.position.x += rockDisplacement.x;
+					carried = true;
+				}
 				break;
 			case JUMP_RISING:
 				bunnyHead.position.y = rock.position.y + bunnyHead.bounds.height + bunnyHead.origin.y;
@@ -88,6 +126,8 @@ public class WorldController extends InputAdapter implements Disposable
 	private void onCollisionBunnyWithGoldCoin(GoldCoin goldcoin)
 	{
 		goldcoin.collected = true;
+		goldcoin.body.setActive(false);
+		level.goldcoins.deactivate(goldcoin);
 		AudioManager.instance.play(Assets.instance.sounds.pickupCoin);
 		score += goldcoin.getScore();
 		Gdx.app.log(TAG, "Gold coin collected");
@@ -100,6 +140,8 @@ public class WorldController extends InputAdapter implements Disposable
 	private void onCollisionBunnyWithFeather(Feather feather)
 	{
 		feather.collected = true;
+		feather.body.setActive(false);
+		level.feathers.deactivate(feather);
 		AudioManager.instance.play(Assets.instance.sounds.pickupFeather);
 		score += feather.getScore();
 		level.bunnyHead.setFeatherPowerup(true);
@@ -113,22 +155,84 @@ public class WorldController extends InputAdapter implements Disposable
 	{
 		goalReached = true;
 		timeLeftGameOverDelay = Constants.TIME_DELAY_GAME_FINISHED;
-		Vector2 centerPosBunnyHead = new Vector2(level.bunnyHead.position);
+		Vector2 centerPosBunnyHead = GamePools.instance.vectors.obtain().set(level.bunnyHead.position);
 		centerPosBunnyHead.x += level.bunnyHead.bounds.width;
-		spawnCarrots(centerPosBunnyHead, Constants.CARROTS_SPAWN_MAX, Constants.CARROTS_SPAWN_RADIUS);
+		carrotPool.spawn(level, centerPosBunnyHead, Constants.CARROTS_SPAWN_MAX, Constants.CARROTS_SPAWN_RADIUS);
+		GamePools.instance.vectors.free(centerPosBunnyHead);
 	}
 	
 	/**
-	 * Initialize the first level
+	 * Initialize the current level
 	 */
 	private void initLevel()
 	{
-		score = 0;
-		scoreVisual = score;
 		goalReached = false;
-		level = new Level(Constants.LEVEL_01);
+		levelStartScore = score;
+		//The objects of the finished level go back to the pools
+		if (level != null)
+			level.release();
+		//Parsed once, later lives are built from the cached template
+		String filename = Constants.LEVELS[levelIndex];
+		level = preloader != null ? preloader.take(filename) : new Level(LevelTemplate.get(filename));
 		cameraHelper.setTarget(level.bunnyHead);
+		level.entities.getProfiler().setEnabled(profileSystems);
 		initPhysics();
+		//Load the chunks around the spawn point before the first frame
+		if (level.streamer != null)
+			level.streamer.update(level.bunnyHead.position.x);
+		levelStart = level.createSnapshot();
+		accumulator = 0;
+		//Stage the next level while this one is played, the thread is only started if there is one
+		if (hasNextLevel())
+		{
+			if (preloader == null)
+				preloader = new LevelPreloader();
+			preloader.preload(Constants.LEVELS[levelIndex + 1]);
+		}
+	}
+
+	/**
+	 * HasNextLevel method
+	 * @return
+	 */
+	private boolean hasNextLevel()
+	{
+		return levelIndex + 1 < Constants.LEVELS.length;
+	}
+
+	/**
+	 * Switch to the next level once the goal celebration is over, or back to the menu after the last one
+	 */
+	private void nextLevel()
+	{
+		if (!hasNextLevel())
+		{
+			backToMenu();
+			return;
+		}
+		if (preloader == null || !preloader.isReady(Constants.LEVELS[levelIndex + 1]))
+			Gdx.app.debug(TAG, "Next level not staged yet");
+		levelIndex++;
+		timeLeftGameOverDelay = 0;
+		initLevel();
+	}
+	
+	/**
+	 * Reset the level to its start state, reusing the existing objects and bodies
+	 */
+	private void restoreLevel()
+	{
+		score = levelStartScore;
+		scoreVisual = score;
+		goalReached = false;
+		//Carrots only exist after the goal was reached
+		carrotPool.retireAll(level);
+		level.restoreSnapshot(levelStart);
+		bunnySensor.setTransform(level.bunnyHead.position, 0);
+		contactListener.clear();
+		//Don't interpolate the jump back to the start
+		level.savePreviousState();
+		cameraHelper.setTarget(level.bunnyHead);
 	}
 
 	/**
@@ -151,11 +255,15 @@ public class WorldController extends InputAdapter implements Disposable
 		lives = Constants.LIVES_START;
 		livesVisual = lives;
 		timeLeftGameOverDelay = 0;
+		score = 0;
+		scoreVisual = score;
+		levelIndex = 0;
 		initLevel();
 	}
 	
 	/**
 	 * Update method
+	 * Runs as many fixed simulation ticks as the frame time covers
 	 * @param deltaTime
 	 */
 	public void update (float deltaTime)
@@ -165,16 +273,88 @@ public class WorldController extends InputAdapter implements Disposable
 		{
 			timeLeftGameOverDelay -= deltaTime;
 			if (timeLeftGameOverDelay < 0)
-				backToMenu();
+			{
+				if (goalReached && !isGameOver())
+					nextLevel();
+				else
+					backToMenu();
+				//Going back to the menu hid the game screen, which disposed this controller
+				if (level == null)
+					return;
+			}
 		}
-		else
+		accumulator += deltaTime;
+		int steps = 0;
+		while (accumulator >= tickDuration && steps < Constants.SIMULATION_MAX_STEPS_PER_FRAME)
 		{
-				handleInputGame(deltaTime);
+			tick(tickDuration);
+			accumulator -= tickDuration;
+			steps++;
 		}
-		level.update(deltaTime);
-		testCollisions();
-		b2world.step(deltaTime, 8, 3);
-		cameraHelper.update(deltaTime);
+		//Drop what is left of a frame time spike instead of catching up over the next frames
+		if (accumulator >= tickDuration)
+			accumulator %= tickDuration;
+		physicsBudget.endFrame();
+		if (profileSystems)
+		{
+			timeLeftProfileLog -= deltaTime;
+			if (timeLeftProfileLog <= 0)
+			{
+				timeLeftProfileLog = Constants.SYSTEM_PROFILE_LOG_INTERVAL;
+				Gdx.app.log(TAG, "System profile\n" + level.entities.getProfiler().describe());
+			}
+		}
+		//Follow the bunny where it is drawn, between the last two ticks
+		cameraHelper.update(deltaTime, getInterpolationAlpha());
+		if (level.streamer != null)
+			level.streamer.update(cameraHelper.getPosition().x);
+		level.mountains.updateScrollPosition(cameraHelper.getPosition());
+		if (livesVisual > lives)
+			livesVisual = Math.max(lives, livesVisual - 1 * deltaTime);
+		if (scoreVisual < score)
+			scoreVisual = Math.min(score, scoreVisual + 250 * deltaTime);
+		allocationCounter.endFrame();
+		timeLeftAllocationLog -= deltaTime;
+		if (timeLeftAllocationLog <= 0)
+		{
+			timeLeftAllocationLog = Constants.ALLOCATION_LOG_INTERVAL;
+			if (allocationCounter.endInterval())
+				Gdx.app.debug(TAG, allocationCounter.getIntervalGameObjects() + " game objects and "
+					+ allocationCounter.getIntervalPooledObjects() + " pooled objects created in "
+					+ allocationCounter.getIntervalFrames() + " frames");
+		}
+	}
+	
+	/**
+	 * GetAllocationCounter method
+	 * @return
+	 */
+	public AllocationCounter getAllocationCounter ()
+	{
+		return allocationCounter;
+	}
+	
+	/**
+	 * Tick method
+	 * Advances the simulation by one fixed step
+	 * @param step
+	 */
+	private void tick (float step)
+	{
+		level.updateActivity(cameraHelper.getPosition().x);
+		level.savePreviousState();
+		if (!isGameOver() && !goalReached)
+			handleInputGame(step);
+		level.update(step);
+		testCollisions(step);
+		//The sensor follows the bunny, which is moved by its own motion code
+		bunnySensor.setTransform(level.bunnyHead.position, 0);
+		physicsSync.beforeStep(level, step);
+		physicsBudget.step(b2world, step);
+		level.entities.update(step);
+		physicsBudget.setAwakeBodies(level.entities.getAwakeBodies());
+		handlePickups();
+		carrotPool.update(level, step, cameraHelper.getPosition());
 		if (!isGameOver() && isPlayerInWater())
 		{
 			AudioManager.instance.play(Assets.instance.sounds.liveLost);
@@ -182,13 +362,36 @@ public class WorldController extends InputAdapter implements Disposable
 			if (isGameOver())
 				timeLeftGameOverDelay = Constants.TIME_DELAY_GAME_OVER;
 			else
-				initLevel();
+				restoreLevel();
 		}
-		level.mountains.updateScrollPosition(cameraHelper.getPosition());
-		if (livesVisual > lives)
-			livesVisual = Math.max(lives, livesVisual - 1 * deltaTime);
-		if (scoreVisual < score)
-			scoreVisual = Math.min(score, scoreVisual + 250 * deltaTime);
+	}
+	
+	/**
+	 * SetTickRate method
+	 * @param ticksPerSecond
+	 */
+	public void setTickRate (int ticksPerSecond)
+	{
+		tickDuration = 1.0f / ticksPerSecond;
+		accumulator = 0;
+	}
+	
+	/**
+	 * GetPhysicsBudget method
+	 * @return solver settings and physics timings
+	 */
+	public PhysicsBudget getPhysicsBudget ()
+	{
+		return physicsBudget;
+	}
+	
+	/**
+	 * GetInterpolationAlpha method
+	 * @return fraction of a tick the frame time is ahead of the last tick, 0 to 1
+	 */
+	public float getInterpolationAlpha ()
+	{
+		return accumulator / tickDuration;
 	}
 	
 	/**
@@ -262,6 +465,23 @@ public class WorldController extends InputAdapter implements Disposable
 			cameraHelper.setTarget(cameraHelper.hasTarget() ? null: level.bunnyHead);
 			Gdx.app.log(TAG, "Camera follow enabled: " + cameraHelper.hasTarget());
 		}
+		//Toggle render stats HUD
+		else if (keycode == Keys.F3)
+			showRenderStats = !showRenderStats;
+		//Toggle render stats log
+		else if (keycode == Keys.F4)
+		{
+			logRenderStats = !logRenderStats;
+			Gdx.app.log(TAG, "Render stats log enabled: " + logRenderStats);
+		}
+		//Toggle system profiler
+		else if (keycode == Keys.F5)
+		{
+			profileSystems = !profileSystems;
+			level.entities.getProfiler().setEnabled(profileSystems);
+			timeLeftProfileLog = Constants.SYSTEM_PROFILE_LOG_INTERVAL;
+			Gdx.app.log(TAG, "System profiler enabled: " + profileSystems);
+		}
 		//Back to menu
 		else if (keycode == Keys.ESCAPE || keycode == Keys.BACK)
 			backToMenu();
@@ -270,51 +490,61 @@ public class WorldController extends InputAdapter implements Disposable
 	
 	/**
 	 * TestCollisions method
+	 * Bunny <-> rock collisions, pickups and the goal are reported by the Box2D sensors
+	 * @param step
 	 */
-	private void testCollisions()
+	private void testCollisions(float step)
 	{
+		carried = false;
 		r1.set(level.bunnyHead.position.x, level.bunnyHead.position.y, level.bunnyHead.bounds.width, level.bunnyHead.bounds.height);
 	
+		//Only the rocks listed in the grid cells the bunny overlaps are tested
+		Array<AbstractGameObject> candidates = level.grid.query(r1, collisionCandidates);
+
 		//Test collision: Bunny Head <-> Rocks
-		for (Rock rock : level.rocks)
+		for (int i = 0; i < candidates.size; i++)
 		{
+			AbstractGameObject candidate = candidates.get(i);
+			if (!(candidate instanceof Rock))
+				continue;
+			Rock rock = (Rock)candidate;
 			r2.set(rock.position.x, rock.position.y, rock.bounds.width, rock.bounds.height);
 			if (!r1.overlaps(r2))
 				continue;
-			onCollisionBunnyHeadWithRock(rock);
+			onCollisionBunnyHeadWithRock(rock, step);
 			//IMPORTANT: Must do all collisions for valid edge testing on rocks
 		}
-		
-		//Test collision: Bunny Head <-> Gold Coins
-		for (GoldCoin goldcoin : level.goldcoins)
-		{
-			if (goldcoin.collected)
-				continue;
-			r2.set(goldcoin.position.x, goldcoin.position.y, goldcoin.bounds.width, goldcoin.bounds.height);
-			if (!r1.overlaps(r2)) continue;
-			onCollisionBunnyWithGoldCoin(goldcoin);
-			break;
-		}
-		
-		//Test collision: Bunny Head <-> Feathers
-		for (Feather feather : level.feathers)
-		{
-			if (feather.collected) continue;
-			r2.set(feather.position.x, feather.position.y, feather.bounds.width, feather.bounds.height);
-			if (!r1.overlaps(r2)) continue;
-			onCollisionBunnyWithFeather(feather);
-			break;
-		}
-		
-		//Test collision: Bunny Head <-> Goal
-		if (!goalReached)
+	}
+	
+	/**
+	 * HandlePickups method
+	 * Handles the sensor contacts queued during the last world step
+	 */
+	private void handlePickups()
+	{
+		Array<AbstractGameObject> touched = contactListener.getTouched();
+		for (int i = 0; i < touched.size; i++)
 		{
-			r2.set(level.goal.bounds);
-			r2.x += level.goal.position.x;
-			r2.y += level.goal.position.y;
-			if (r1.overlaps(r2))
-				onCollisionBunnyWithGoal();
+			AbstractGameObject object = touched.get(i);
+			if (object instanceof GoldCoin)
+			{
+				GoldCoin goldcoin = (GoldCoin)object;
+				if (!goldcoin.collected)
+					onCollisionBunnyWithGoldCoin(goldcoin);
+			}
+			else if (object instanceof Feather)
+			{
+				Feather feather = (Feather)object;
+				if (!feather.collected)
+					onCollisionBunnyWithFeather(feather);
+			}
+			else if (object instanceof Goal)
+			{
+				if (!goalReached)
+					onCollisionBunnyWithGoal();
+			}
 		}
+		contactListener.clear();
 	}
 	
 	/**
@@ -398,69 +628,145 @@ public class WorldController extends InputAdapter implements Disposable
 		if (b2world != null)
 			b2world.dispose();
 		b2world = new World(new Vector2(0, -9.81f), true);
+		b2world.setContactListener(contactListener);
+		contactListener.clear();
 		//Rocks
-		Vector2 origin = new Vector2();
 		for (Rock rock : level.rocks)
+			rock.body = createRockBody(b2world, rock);
+		//Items
+		for (int i = 0; i < level.goldcoins.size(); i++)
+		{
+			GoldCoin goldcoin = level.goldcoins.get(i);
+			goldcoin.body = createPickupBody(b2world, goldcoin, !goldcoin.collected);
+		}
+		for (int i = 0; i < level.feathers.size(); i++)
 		{
-			BodyDef bodyDef = new BodyDef();
-			bodyDef.type = BodyType.KinematicBody;
-			bodyDef.position.set(rock.position);
-			Body body = b2world.createBody(bodyDef);
-			rock.body = body;
-			PolygonShape polygonShape = new PolygonShape();
-			origin.x = rock.bounds.width / 2.0f;
-			origin.y = rock.bounds.height / 2.0f;
-			polygonShape.setAsBox(rock.bounds.width / 2.0f, rock.bounds.height / 2.0f, origin, 0);
-			FixtureDef fixtureDef = new FixtureDef();
-			fixtureDef.shape = polygonShape;
-			body.createFixture(fixtureDef);
-			polygonShape.dispose();
+			Feather feather = level.feathers.get(i);
+			feather.body = createPickupBody(b2world, feather, !feather.collected);
 		}
+		//Goal
+		level.goal.body = createGoalBody(b2world, level.goal);
+		//Bunny
+		bunnySensor = createBunnySensor(b2world, level.bunnyHead);
+		//Carrots for the goal celebration, inactive until they are spawned
+		carrotPool = new CarrotPool(b2world, Constants.CARROTS_SPAWN_MAX);
+		//Everything starts dormant, the first tick wakes what is around the camera
+		level.resetActivity();
+		//Rocks of chunks loaded later on
+		if (level.streamer != null)
+			level.streamer.setWorld(b2world);
 	}
 	
 	/**
-	 * SpawnCarrots function
-	 * @param pos
-	 * @param numCarrots
-	 * @param radius
+	 * CreateRockBody function
+	 * @param world
+	 * @param rock
+	 * @return
 	 */
-	private void spawnCarrots(Vector2 pos, int numCarrots, float radius)
+	static Body createRockBody (World world, Rock rock)
 	{
-		float carrotShapeScale = 0.5f;
-		//Create carrots with box2d body and fixture
-		for (int i = 0; i < numCarrots; i++)
-		{
-			Carrot carrot = new Carrot();
-			//Calculate random spawn position, rotation, and scale
-			float x = MathUtils.random(-radius, radius);
-			float y = MathUtils.random(5.0f, 15.0f);
-			float rotation = MathUtils.random(0.0f, 360.0f) * MathUtils.degreesToRadians;
-			float carrotScale = MathUtils.random(0.5f, 1.5f);
-			carrot.scale.set(carrotScale, carrotScale);
-			//Create box2d body for carrot with start position and angle of rotation
-			BodyDef bodyDef = new BodyDef();
-			bodyDef.position.set(pos);
-			bodyDef.position.add(x, y);
-			bodyDef.angle = rotation;
-			Body body = b2world.createBody(bodyDef);
-			body.setType(BodyType.DynamicBody);
-			carrot.body = body;
-			//Create rectangular shape for carrot to allow interactions (collisions) with other objects
-			PolygonShape polygonShape = new PolygonShape();
-			float halfWidth = carrot.bounds.width / 2.0f * carrotScale;
-			float halfHeight = carrot.bounds.height / 2.0f * carrotScale;
-			polygonShape.setAsBox(halfWidth * carrotShapeScale, halfHeight * carrotShapeScale);
-			//Set physics attributes
-			FixtureDef fixtureDef = new FixtureDef();
-			fixtureDef.shape = polygonShape;
-			fixtureDef.density = 50;
-			fixtureDef.restitution = 0.5f;
-			fixtureDef.friction = 0.5f;
-			body.createFixture(fixtureDef);
-			polygonShape.dispose();
-			//Finally, add new carrot to list for updating / rendering
-			level.carrots.add(carrot);
-		}
+		GamePools pools = GamePools.instance;
+		BodyDef bodyDef = pools.bodyDefs.obtain();
+		bodyDef.type = BodyType.KinematicBody;
+		bodyDef.position.set(rock.position);
+		Body body = world.createBody(bodyDef);
+		PolygonShape polygonShape = pools.polygonShapes.obtain();
+		Vector2 origin = pools.vectors.obtain().set(rock.bounds.width / 2.0f, rock.bounds.height / 2.0f);
+		polygonShape.setAsBox(rock.bounds.width / 2.0f, rock.bounds.height / 2.0f, origin, 0);
+		FixtureDef fixtureDef = pools.fixtureDefs.obtain();
+		fixtureDef.shape = polygonShape;
+		fixtureDef.filter.categoryBits = Constants.CATEGORY_ROCK;
+		fixtureDef.filter.maskBits = Constants.CATEGORY_CARROT;
+		body.createFixture(fixtureDef);
+		pools.fixtureDefs.free(fixtureDef);
+		pools.vectors.free(origin);
+		pools.polygonShapes.free(polygonShape);
+		pools.bodyDefs.free(bodyDef);
+		return body;
+	}
+	
+	/**
+	 * CreatePickupBody function
+	 * Static body with a sensor over the item's bounds
+	 * @param world
+	 * @param item
+	 * @param active false for items that are already collected
+	 * @return
+	 */
+	static Body createPickupBody (World world, AbstractGameObject item, boolean active)
+	{
+		Body body = createSensor(world, BodyType.StaticBody, item.position, item.bounds.width, item.bounds.height, 0, Constants.CATEGORY_PICKUP, Constants.CATEGORY_BUNNY);
+		body.setUserData(item);
+		body.setActive(active);
+		return body;
+	}
+	
+	/**
+	 * CreateGoalBody function
+	 * The goal reaches from its position up to the sky
+	 * @param world
+	 * @param goal
+	 * @return
+	 */
+	private static Body createGoalBody (World world, Goal goal)
+	{
+		Body body = createSensor(world, BodyType.StaticBody, goal.position, goal.bounds.width, Constants.GOAL_SENSOR_HEIGHT, goal.bounds.x, Constants.CATEGORY_GOAL, Constants.CATEGORY_BUNNY);
+		body.setUserData(goal);
+		return body;
+	}
+	
+	/**
+	 * CreateBunnySensor function
+	 * Box2D only reports contacts with a moving body, so the bunny gets a dynamic sensor that is moved to its position
+	 * before every step. It is not assigned to the bunny, whose own motion code stays in charge.
+	 * @param world
+	 * @param bunnyHead
+	 * @return
+	 */
+	private static Body createBunnySensor (World world, BunnyHead bunnyHead)
+	{
+		Body body = createSensor(world, BodyType.DynamicBody, bunnyHead.position, bunnyHead.bounds.width, bunnyHead.bounds.height, 0, Constants.CATEGORY_BUNNY, (short)(Constants.CATEGORY_PICKUP | Constants.CATEGORY_GOAL));
+		body.setGravityScale(0);
+		//Sleeping bodies don't update their contacts with static bodies
+		body.setSleepingAllowed(false);
+		body.setUserData(bunnyHead);
+		return body;
+	}
+	
+	/**
+	 * CreateSensor function
+	 * @param world
+	 * @param type
+	 * @param position bottom left corner
+	 * @param width
+	 * @param height
+	 * @param offsetX
+	 * @param category
+	 * @param mask
+	 * @return
+	 */
+	private static Body createSensor (World world, BodyType type, Vector2 position, float width, float height, float offsetX, short category, short mask)
+	{
+		GamePools pools = GamePools.instance;
+		BodyDef bodyDef = pools.bodyDefs.obtain();
+		bodyDef.type = type;
+		bodyDef.fixedRotation = true;
+		bodyDef.position.set(position);
+		Body body = world.createBody(bodyDef);
+		PolygonShape polygonShape = pools.polygonShapes.obtain();
+		Vector2 center = pools.vectors.obtain().set(offsetX + width / 2.0f, height / 2.0f);
+		polygonShape.setAsBox(width / 2.0f, height / 2.0f, center, 0);
+		FixtureDef fixtureDef = pools.fixtureDefs.obtain();
+		fixtureDef.shape = polygonShape;
+		fixtureDef.isSensor = true;
+		fixtureDef.filter.categoryBits = category;
+		fixtureDef.filter.maskBits = mask;
+		body.createFixture(fixtureDef);
+		pools.fixtureDefs.free(fixtureDef);
+		pools.vectors.free(center);
+		pools.polygonShapes.free(polygonShape);
+		pools.bodyDefs.free(bodyDef);
+		return body;
 	}
 	
 	/**
@@ -469,7 +775,16 @@ public class WorldController extends InputAdapter implements Disposable
 	@Override
 	public void dispose()
 	{
+		//Stops the preloader thread
+		if (preloader != null)
+			preloader.dispose();
+		preloader = null;
+		//The objects go back to the pools, which live as long as the game
+		if (level != null)
+			level.release();
+		level = null;
 		if (b2world != null)
 			b2world.dispose();
+		b2world = null;
 	}
 }
\ No newline at end of file
@@ -10,8 +10,12 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.brooks.gdx.game.util.GamePreferences;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
-import com.badlogic.gdx.graphics.glutils.ShaderProgram;
-import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.brooks.gdx.game.util.CullStats;
+import com.brooks.gdx.game.util.InstrumentedSpriteBatch;
+import com.brooks.gdx.game.util.RenderStats;
+import com.brooks.gdx.game.postprocess.MonochromeEffect;
+import com.brooks.gdx.game.postprocess.PostProcessor;
 
 /**
  * Created by: Becky Brooks
@@ -20,12 +24,17 @@ public class WorldRenderer implements Disposable
 {
 	//Declare variables
 	private OrthographicCamera camera;
-	private SpriteBatch batch;
+	private InstrumentedSpriteBatch batch;
 	private WorldController worldController;
 	private OrthographicCamera cameraGUI;
 	private static final boolean DEBUG_DRAW_BOX2D_WORLD = false;
 	private Box2DDebugRenderer b2debugRenderer;
-	private ShaderProgram shaderMonochrome;
+	private PostProcessor postProcessor;
+	private MonochromeEffect monochrome;
+	private RockMesh rockMesh;
+	private RenderStats renderStats;
+	//Reused for the per-frame debug text
+	private final StringBuilder statsText = new StringBuilder();
 	
 	/**
 	 * Initialize the WorldRenderer
@@ -42,7 +51,8 @@ public class WorldRenderer implements Disposable
 	 */
 	private void init ()
 	{
-		batch = new SpriteBatch();
+		batch = new InstrumentedSpriteBatch();
+		renderStats = new RenderStats();
 		camera = new OrthographicCamera(Constants.VIEWPORT_WIDTH, Constants.VIEWPORT_HEIGHT);
 		camera.position.set(0,0,0);
 		camera.update();
@@ -51,12 +61,11 @@ public class WorldRenderer implements Disposable
 		cameraGUI.setToOrtho(true);	//flip y-axis
 		cameraGUI.update();
 		b2debugRenderer = new Box2DDebugRenderer();
-		shaderMonochrome = new ShaderProgram(Gdx.files.internal(Constants.shaderMonochromeVertex), Gdx.files.internal(Constants.shaderMonochromeFragment));
-		if (!shaderMonochrome.isCompiled())
-		{
-			String msg = "Could not compile shader program: " + shaderMonochrome.getLog();
-			throw new GdxRuntimeException(msg);
-		}
+		rockMesh = new RockMesh();
+		//Full-screen effects over the world, applied once per pixel
+		postProcessor = new PostProcessor();
+		monochrome = new MonochromeEffect();
+		postProcessor.add(monochrome);
 	}
 	
 	/**
@@ -64,8 +73,15 @@ public class WorldRenderer implements Disposable
 	 */
 	public void render ()
 	{
+		renderStats.setVisible(worldController.showRenderStats);
+		renderStats.setLogging(worldController.logRenderStats);
+		renderStats.begin(renderStats.world, batch);
 		renderWorld(batch);
+		renderStats.end(renderStats.world);
+		renderStats.begin(renderStats.gui, batch);
 		renderGui(batch);
+		renderStats.end(renderStats.gui);
+		renderStats.endFrame();
 	}
 	
 	/**
@@ -76,19 +92,31 @@ public class WorldRenderer implements Disposable
 	{
 		worldController.cameraHelper.applyTo(camera);
 		batch.setProjectionMatrix(camera.combined);
+		//The zoomed viewport is what the camera shows
+		float halfViewWidth = camera.viewportWidth * camera.zoom / 2;
+		float halfViewHeight = camera.viewportHeight * camera.zoom / 2;
+		Level level = worldController.level;
+		level.setViewWindow(camera.position.x - halfViewWidth, camera.position.y - halfViewHeight,
+			camera.position.x + halfViewWidth, camera.position.y + halfViewHeight);
+		rockMesh.update(level);
+		monochrome.setEnabled(GamePreferences.instance.useMonochromeShader);
+		postProcessor.begin();
+		//The mountains, the baked rocks and the rest are separate draws anyway, they use different textures or shaders
 		batch.begin();
-		if (GamePreferences.instance.useMonochromeShader)
-		{
-			batch.setShader(shaderMonochrome);
-			shaderMonochrome.setUniformf("u_amount", 1.0f);
-		}
-		worldController.level.render(batch);
-		batch.setShader(null);
+		level.renderBackground(batch);
+		batch.end();
+		//Draw between the last two simulation ticks
+		level.beginInterpolation(worldController.getInterpolationAlpha());
+		boolean rocksBaked = level.renderRocks(rockMesh, camera.combined);
+		batch.begin();
+		level.render(batch, rocksBaked);
 		batch.end();
+		level.endInterpolation();
 		if (DEBUG_DRAW_BOX2D_WORLD)
 		{
 			b2debugRenderer.render(worldController.b2world, camera.combined);
 		}
+		postProcessor.end();
 	}
 	
 	/**
@@ -104,6 +132,7 @@ public class WorldRenderer implements Disposable
 		cameraGUI.viewportWidth = (Constants.VIEWPORT_GUI_HEIGHT / (float)height * (float)width);
 		cameraGUI.position.set(cameraGUI.viewportWidth/ 2, cameraGUI.viewportHeight / 2, 0);
 		cameraGUI.update();
+		postProcessor.resize(width, height);
 	}
 	
 	/**
@@ -113,7 +142,10 @@ public class WorldRenderer implements Disposable
 	public void dispose ()
 	{
 		batch.dispose();
-		shaderMonochrome.dispose();
+		renderStats.dispose();
+		postProcessor.dispose();
+		rockMesh.dispose();
+		b2debugRenderer.dispose();
 	}
 	
 	/**
@@ -195,6 +227,37 @@ public class WorldRenderer implements Disposable
 		fpsFont.setColor(1,1,1,1);	//white
 	}
 	
+	/**
+	 * RenderGuiCullStats method
+	 * Objects drawn and culled in this frame, above the FPS counter
+	 * @param batch
+	 */
+	private void renderGuiCullStats (SpriteBatch batch)
+	{
+		float x = cameraGUI.viewportWidth - 255;
+		float y = cameraGUI.viewportHeight - 33;
+		CullStats stats = worldController.level.cullStats;
+		statsText.setLength(0);
+		statsText.append("Drawn: ").append(stats.getDrawn()).append("  Culled: ").append(stats.getCulled());
+		Assets.instance.fonts.defaultNormal.draw(batch, statsText, x, y, 250, Align.right, false);
+	}
+	
+	/**
+	 * RenderGuiRenderStats method
+	 * Batching numbers of the last world and GUI pass (anchored to top left edge, below the feather)
+	 * @param batch
+	 */
+	private void renderGuiRenderStats (SpriteBatch batch)
+	{
+		float x = 10;
+		float y = 100;
+		BitmapFont font = Assets.instance.fonts.defaultSmall;
+		RenderStats.describe(renderStats.world, statsText);
+		font.draw(batch, statsText, x, y);
+		RenderStats.describe(renderStats.gui, statsText);
+		font.draw(batch, statsText, x, y + 2 * font.getLineHeight());
+	}
+	
 	/**
 	 * RenderGui method
 	 * @param batch
@@ -211,7 +274,13 @@ public class WorldRenderer implements Disposable
 		renderGuiExtraLive(batch);
 		//Draw FPS text (anchored to bottom right edge)
 		if (GamePreferences.instance.showFpsCounter)
+		{
 			renderGuiFpsCounter(batch);
+			renderGuiCullStats(batch);
+		}
+		//Draw batching numbers (anchored to top left edge)
+		if (renderStats.isVisible())
+			renderGuiRenderStats(batch);
 		//Draw game over text
 		renderGuiGameOverMessage(batch);
 		batch.end();
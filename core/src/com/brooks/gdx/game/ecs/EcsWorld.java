@@ -0,0 +1,151 @@
+package com.brooks.gdx.game.ecs;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.brooks.gdx.game.ecs.systems.AnimationSystem;
+import com.brooks.gdx.game.ecs.systems.MotionSystem;
+import com.brooks.gdx.game.ecs.systems.PhysicsSyncSystem;
+import com.brooks.gdx.game.ecs.systems.RenderSystem;
+
+/**
+ * Ashley engine with the game's systems. updateMotion() integrates the bodiless movers (the bunny) in the level update,
+ * before the collision tests. update() runs once per simulation tick after the Box2D step: animation and body sync,
+ * in that order. render() draws from the renderer.
+ * Every system iterates its own family array and can be timed with the SystemProfiler.
+ * Pickups aren't entities: the items live in the level's ItemStores and the Box2D sensors report the bunny touching them.
+ */
+public class EcsWorld
+{
+	//Declare variables
+	public static final String TAG = EcsWorld.class.getName();
+	private final Engine engine = new Engine();
+	private final SystemProfiler profiler = new SystemProfiler();
+	private final MotionSystem motionSystem = new MotionSystem(0);
+	private final AnimationSystem animationSystem = new AnimationSystem(1);
+	private final PhysicsSyncSystem physicsSyncSystem = new PhysicsSyncSystem(2);
+	private final RenderSystem renderSystem = new RenderSystem(3);
+
+	/**
+	 * EcsWorld method
+	 */
+	public EcsWorld ()
+	{
+		engine.addSystem(motionSystem);
+		engine.addSystem(animationSystem);
+		engine.addSystem(physicsSyncSystem);
+		engine.addSystem(renderSystem);
+		//Run by updateMotion() instead of the engine
+		motionSystem.setProcessing(false);
+		profiler.attach(motionSystem);
+		profiler.attach(animationSystem);
+		profiler.attach(physicsSyncSystem);
+		profiler.attach(renderSystem);
+	}
+
+	/**
+	 * UpdateMotion method
+	 * @param deltaTime duration of the tick
+	 */
+	public void updateMotion (float deltaTime)
+	{
+		motionSystem.update(deltaTime);
+	}
+
+	/**
+	 * Update method
+	 * @param deltaTime duration of the tick
+	 */
+	public void update (float deltaTime)
+	{
+		engine.update(deltaTime);
+	}
+
+	/**
+	 * Render method
+	 * @param batch
+	 */
+	public void render (SpriteBatch batch)
+	{
+		renderSystem.render(batch);
+	}
+
+	/**
+	 * SetViewWindow method
+	 * Entities outside the window aren't drawn
+	 * @param left
+	 * @param bottom
+	 * @param right
+	 * @param top
+	 */
+	public void setViewWindow (float left, float bottom, float right, float top)
+	{
+		renderSystem.setViewWindow(left, bottom, right, top);
+	}
+
+	/**
+	 * GetRenderSystem method
+	 * @return
+	 */
+	public RenderSystem getRenderSystem ()
+	{
+		return renderSystem;
+	}
+
+	/**
+	 * SetInterpolationAlpha method
+	 * @param alpha
+	 */
+	public void setInterpolationAlpha (float alpha)
+	{
+		renderSystem.setInterpolationAlpha(alpha);
+	}
+
+	/**
+	 * AddEntity method
+	 * The transform starts without interpolation
+	 * @param entity
+	 */
+	public void addEntity (Entity entity)
+	{
+		if (Mappers.transform.has(entity))
+			Mappers.transform.get(entity).savePreviousState();
+		engine.addEntity(entity);
+	}
+
+	/**
+	 * RemoveEntity method
+	 * @param entity
+	 */
+	public void removeEntity (Entity entity)
+	{
+		engine.removeEntity(entity);
+	}
+
+	/**
+	 * GetAwakeBodies method
+	 * @return entity bodies awake after the last tick
+	 */
+	public int getAwakeBodies ()
+	{
+		return physicsSyncSystem.getAwakeCount();
+	}
+
+	/**
+	 * GetEngine method
+	 * @return
+	 */
+	public Engine getEngine ()
+	{
+		return engine;
+	}
+
+	/**
+	 * GetProfiler method
+	 * @return
+	 */
+	public SystemProfiler getProfiler ()
+	{
+		return profiler;
+	}
+}
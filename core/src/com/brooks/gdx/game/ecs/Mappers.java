@@ -0,0 +1,23 @@
+package com.brooks.gdx.game.ecs;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.brooks.gdx.game.ecs.components.AnimationComponent;
+import com.brooks.gdx.game.ecs.components.BodyComponent;
+import com.brooks.gdx.game.ecs.components.MotionComponent;
+import com.brooks.gdx.game.ecs.components.TransformComponent;
+
+/**
+ * Component mappers, which look components up by index instead of by class
+ */
+public class Mappers
+{
+	//Declare variables
+	public static final ComponentMapper<TransformComponent> transform = ComponentMapper.getFor(TransformComponent.class);
+	public static final ComponentMapper<MotionComponent> motion = ComponentMapper.getFor(MotionComponent.class);
+	public static final ComponentMapper<AnimationComponent> animation = ComponentMapper.getFor(AnimationComponent.class);
+	public static final ComponentMapper<BodyComponent> body = ComponentMapper.getFor(BodyComponent.class);
+
+	private Mappers ()
+	{
+	}
+}
@@ -0,0 +1,82 @@
+package com.brooks.gdx.game.ecs;
+
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.ecs.systems.ProfiledSystem;
+
+/**
+ * Times every ProfiledSystem it is attached to while enabled. Each system keeps its own last, average and worst
+ * time, so enabling the profiler adds two System.nanoTime() calls per system and frame and nothing else.
+ */
+public class SystemProfiler
+{
+	//Declare variables
+	public static final String TAG = SystemProfiler.class.getName();
+	private final Array<ProfiledSystem> systems = new Array<ProfiledSystem>();
+	private boolean enabled;
+
+	/**
+	 * Attach method
+	 * @param system
+	 */
+	public void attach (ProfiledSystem system)
+	{
+		systems.add(system);
+		system.setProfiler(this);
+	}
+
+	/**
+	 * SetEnabled method
+	 * @param enabled
+	 */
+	public void setEnabled (boolean enabled)
+	{
+		this.enabled = enabled;
+		if (enabled)
+			reset();
+	}
+
+	/**
+	 * IsEnabled method
+	 * @return
+	 */
+	public boolean isEnabled ()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Reset method
+	 * Clears the times of all systems
+	 */
+	public void reset ()
+	{
+		for (int i = 0; i < systems.size; i++)
+			systems.get(i).resetTimes();
+	}
+
+	/**
+	 * GetSystems method
+	 * @return profiled systems in the order they were attached
+	 */
+	public Array<ProfiledSystem> getSystems ()
+	{
+		return systems;
+	}
+
+	/**
+	 * Describe method
+	 * @return one line per system with entity count and last, average and worst milliseconds
+	 */
+	public String describe ()
+	{
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < systems.size; i++)
+		{
+			ProfiledSystem system = systems.get(i);
+			builder.append(String.format("%-20s %6d entities %8.3f ms last %8.3f ms average %8.3f ms worst%n",
+				system.getClass().getSimpleName(), system.getEntities().size,
+				system.getLastMillis(), system.getAverageMillis(), system.getMaxMillis()));
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,26 @@
+package com.brooks.gdx.game.ecs.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * What an entity looks like: an animation played from stateTime, or a single region when the animation is null
+ */
+public class AnimationComponent implements Component
+{
+	//Declare variables
+	public Animation animation;
+	public TextureRegion region;
+	public float stateTime;
+	public boolean looping = true;
+
+	/**
+	 * GetKeyFrame method
+	 * @return region to draw
+	 */
+	public TextureRegion getKeyFrame ()
+	{
+		return animation == null ? region : animation.getKeyFrame(stateTime, looping);
+	}
+}
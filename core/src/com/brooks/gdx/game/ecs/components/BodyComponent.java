@@ -0,0 +1,15 @@
+package com.brooks.gdx.game.ecs.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * Box2D body that moves the entity
+ */
+public class BodyComponent implements Component
+{
+	//Declare variables
+	public Body body;
+	//Seconds the body has been lying still
+	public float timeResting;
+}
@@ -0,0 +1,17 @@
+package com.brooks.gdx.game.ecs.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Velocity of an entity without a Box2D body, with the friction, acceleration and terminal velocity that shape it.
+ * An entity that moves a game object (the bunny) shares the object's vectors.
+ */
+public class MotionComponent implements Component
+{
+	//Declare variables
+	public Vector2 velocity = new Vector2();
+	public Vector2 terminalVelocity = new Vector2(1, 1);
+	public Vector2 friction = new Vector2();
+	public Vector2 acceleration = new Vector2();
+}
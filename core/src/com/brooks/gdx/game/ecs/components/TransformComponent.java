@@ -0,0 +1,32 @@
+package com.brooks.gdx.game.ecs.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Where an entity is and how big it is drawn, plus the state at the start of the last tick for interpolation
+ */
+public class TransformComponent implements Component
+{
+	//Declare variables
+	//Shared with the game object for entities that move one
+	public Vector2 position = new Vector2();
+	public final Vector2 dimension = new Vector2(1, 1);
+	public final Vector2 origin = new Vector2();
+	public final Vector2 scale = new Vector2(1, 1);
+	public float rotation;
+	//Bounding box relative to the position, for collision detection
+	public final Rectangle bounds = new Rectangle();
+	public final Vector2 previousPosition = new Vector2();
+	public float previousRotation;
+
+	/**
+	 * SavePreviousState method
+	 */
+	public void savePreviousState ()
+	{
+		previousPosition.set(position);
+		previousRotation = rotation;
+	}
+}
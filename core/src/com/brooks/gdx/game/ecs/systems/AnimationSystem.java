@@ -0,0 +1,45 @@
+package com.brooks.gdx.game.ecs.systems;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.ecs.Mappers;
+import com.brooks.gdx.game.ecs.components.AnimationComponent;
+
+/**
+ * Advances the animation time of the entities
+ */
+public class AnimationSystem extends ProfiledSystem
+{
+	//Declare variables
+	private final Array<AnimationComponent> animations = new Array<AnimationComponent>(false, 16, AnimationComponent.class);
+
+	/**
+	 * AnimationSystem method
+	 * @param priority
+	 */
+	public AnimationSystem (int priority)
+	{
+		super(Family.all(AnimationComponent.class).get(), priority);
+	}
+
+	@Override
+	protected void added (Entity entity)
+	{
+		animations.add(Mappers.animation.get(entity));
+	}
+
+	@Override
+	protected void removed (int index)
+	{
+		animations.removeIndex(index);
+	}
+
+	@Override
+	protected void process (float deltaTime)
+	{
+		AnimationComponent[] animations = this.animations.items;
+		for (int i = 0, n = this.animations.size; i < n; i++)
+			animations[i].stateTime += deltaTime;
+	}
+}
@@ -0,0 +1,85 @@
+package com.brooks.gdx.game.ecs.systems;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.ecs.Mappers;
+import com.brooks.gdx.game.ecs.components.BodyComponent;
+import com.brooks.gdx.game.ecs.components.MotionComponent;
+import com.brooks.gdx.game.ecs.components.TransformComponent;
+
+/**
+ * Moves the entities without a Box2D body: friction, acceleration and terminal velocity like
+ * AbstractGameObject.updateMotionX/Y, then the position is integrated
+ */
+public class MotionSystem extends ProfiledSystem
+{
+	//Declare variables
+	private final Array<TransformComponent> transforms = new Array<TransformComponent>(false, 16, TransformComponent.class);
+	private final Array<MotionComponent> motions = new Array<MotionComponent>(false, 16, MotionComponent.class);
+
+	/**
+	 * MotionSystem method
+	 * @param priority
+	 */
+	public MotionSystem (int priority)
+	{
+		super(Family.all(TransformComponent.class, MotionComponent.class).exclude(BodyComponent.class).get(), priority);
+	}
+
+	@Override
+	protected void added (Entity entity)
+	{
+		transforms.add(Mappers.transform.get(entity));
+		motions.add(Mappers.motion.get(entity));
+	}
+
+	@Override
+	protected void removed (int index)
+	{
+		transforms.removeIndex(index);
+		motions.removeIndex(index);
+	}
+
+	@Override
+	protected void process (float deltaTime)
+	{
+		TransformComponent[] transforms = this.transforms.items;
+		MotionComponent[] motions = this.motions.items;
+		for (int i = 0, n = this.transforms.size; i < n; i++)
+		{
+			TransformComponent transform = transforms[i];
+			MotionComponent motion = motions[i];
+			Vector2 velocity = motion.velocity;
+			velocity.x = integrate(velocity.x, motion.friction.x, motion.acceleration.x, motion.terminalVelocity.x, deltaTime);
+			velocity.y = integrate(velocity.y, motion.friction.y, motion.acceleration.y, motion.terminalVelocity.y, deltaTime);
+			transform.savePreviousState();
+			transform.position.x += velocity.x * deltaTime;
+			transform.position.y += velocity.y * deltaTime;
+		}
+	}
+
+	/**
+	 * Integrate method
+	 * @param velocity
+	 * @param friction
+	 * @param acceleration
+	 * @param terminalVelocity
+	 * @param deltaTime
+	 * @return new velocity along one axis
+	 */
+	private static float integrate (float velocity, float friction, float acceleration, float terminalVelocity, float deltaTime)
+	{
+		//Apply friction
+		if (velocity > 0)
+			velocity = Math.max(velocity - friction * deltaTime, 0);
+		else if (velocity < 0)
+			velocity = Math.min(velocity + friction * deltaTime, 0);
+		//Apply acceleration
+		velocity += acceleration * deltaTime;
+		//Make sure the velocity does not exceed the positive or negative terminal velocity
+		return MathUtils.clamp(velocity, -terminalVelocity, terminalVelocity);
+	}
+}
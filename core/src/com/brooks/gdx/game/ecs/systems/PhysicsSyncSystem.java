@@ -0,0 +1,76 @@
+package com.brooks.gdx.game.ecs.systems;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.ecs.Mappers;
+import com.brooks.gdx.game.ecs.components.BodyComponent;
+import com.brooks.gdx.game.ecs.components.TransformComponent;
+
+/**
+ * Copies the transforms of the awake Box2D bodies after the world step, one native call per awake body.
+ * Sleeping bodies keep the transform copied before they fell asleep.
+ */
+public class PhysicsSyncSystem extends ProfiledSystem
+{
+	//Declare variables
+	private final Array<TransformComponent> transforms = new Array<TransformComponent>(false, 16, TransformComponent.class);
+	private final Array<BodyComponent> bodies = new Array<BodyComponent>(false, 16, BodyComponent.class);
+	private int awakeCount;
+
+	/**
+	 * PhysicsSyncSystem method
+	 * @param priority
+	 */
+	public PhysicsSyncSystem (int priority)
+	{
+		super(Family.all(TransformComponent.class, BodyComponent.class).get(), priority);
+	}
+
+	@Override
+	protected void added (Entity entity)
+	{
+		transforms.add(Mappers.transform.get(entity));
+		bodies.add(Mappers.body.get(entity));
+	}
+
+	@Override
+	protected void removed (int index)
+	{
+		transforms.removeIndex(index);
+		bodies.removeIndex(index);
+	}
+
+	@Override
+	protected void process (float deltaTime)
+	{
+		TransformComponent[] transforms = this.transforms.items;
+		BodyComponent[] bodies = this.bodies.items;
+		int awake = 0;
+		for (int i = 0, n = this.transforms.size; i < n; i++)
+		{
+			TransformComponent transform = transforms[i];
+			Body body = bodies[i].body;
+			transform.savePreviousState();
+			if (!body.isAwake())
+				continue;
+			Transform bodyTransform = body.getTransform();
+			transform.position.set(bodyTransform.getPosition());
+			transform.rotation = bodyTransform.getRotation() * MathUtils.radiansToDegrees;
+			awake++;
+		}
+		awakeCount = awake;
+	}
+
+	/**
+	 * GetAwakeCount method
+	 * @return bodies that were awake after the last step
+	 */
+	public int getAwakeCount ()
+	{
+		return awakeCount;
+	}
+}
@@ -0,0 +1,192 @@
+package com.brooks.gdx.game.ecs.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.ecs.SystemProfiler;
+
+/**
+ * System that keeps the components of its family packed in typed arrays, one slot per entity, and makes one pass
+ * over them per update, timed while its SystemProfiler is enabled.
+ * The arrays are kept in step with the family by an entity listener. Removing an entity moves the last one into its
+ * slot, after a linear search for the entity, so removal costs O(n) and iteration order isn't stable.
+ */
+public abstract class ProfiledSystem extends EntitySystem
+{
+	//Declare variables
+	//Weight of the newest pass in the average
+	private static final float AVERAGE_WEIGHT = 0.05f;
+	private final Family family;
+	private final Array<Entity> entities = new Array<Entity>(false, 16, Entity.class);
+	private final EntityListener listener = new EntityListener()
+	{
+		@Override
+		public void entityAdded (Entity entity)
+		{
+			entities.add(entity);
+			added(entity);
+		}
+
+		@Override
+		public void entityRemoved (Entity entity)
+		{
+			int index = entities.indexOf(entity, true);
+			entities.removeIndex(index);
+			removed(index);
+		}
+	};
+	private SystemProfiler profiler;
+	private float lastMillis;
+	private float averageMillis;
+	private float maxMillis;
+
+	/**
+	 * ProfiledSystem method
+	 * @param family
+	 * @param priority lower runs first
+	 */
+	public ProfiledSystem (Family family, int priority)
+	{
+		super(priority);
+		this.family = family;
+	}
+
+	/**
+	 * AddedToEngine method
+	 * @param engine
+	 */
+	@Override
+	public void addedToEngine (Engine engine)
+	{
+		for (Entity entity : engine.getEntitiesFor(family))
+			listener.entityAdded(entity);
+		engine.addEntityListener(family, listener);
+	}
+
+	/**
+	 * RemovedFromEngine method
+	 * @param engine
+	 */
+	@Override
+	public void removedFromEngine (Engine engine)
+	{
+		engine.removeEntityListener(listener);
+		for (int i = entities.size - 1; i >= 0; i--)
+			listener.entityRemoved(entities.get(i));
+	}
+
+	/**
+	 * Added method
+	 * Appends the components of the entity to the packed arrays
+	 * @param entity
+	 */
+	protected abstract void added (Entity entity);
+
+	/**
+	 * Removed method
+	 * Removes the slot from the packed arrays with removeIndex() of an unordered Array, like the entity array
+	 * @param index
+	 */
+	protected abstract void removed (int index);
+
+	/**
+	 * Process method
+	 * @param deltaTime
+	 */
+	protected abstract void process (float deltaTime);
+
+	/**
+	 * Update method
+	 * @param deltaTime
+	 */
+	@Override
+	public void update (float deltaTime)
+	{
+		if (profiler == null || !profiler.isEnabled())
+		{
+			process(deltaTime);
+			return;
+		}
+		long start = System.nanoTime();
+		process(deltaTime);
+		record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Record method
+	 * @param nanos duration of a pass over the family
+	 */
+	protected void record (long nanos)
+	{
+		lastMillis = nanos / 1000000.0f;
+		averageMillis = averageMillis == 0 ? lastMillis : averageMillis + (lastMillis - averageMillis) * AVERAGE_WEIGHT;
+		maxMillis = Math.max(maxMillis, lastMillis);
+	}
+
+	/**
+	 * IsProfiling method
+	 * @return
+	 */
+	protected boolean isProfiling ()
+	{
+		return profiler != null && profiler.isEnabled();
+	}
+
+	/**
+	 * GetEntities method
+	 * @return entities of the family, in the order of the packed arrays
+	 */
+	public Array<Entity> getEntities ()
+	{
+		return entities;
+	}
+
+	/**
+	 * SetProfiler method
+	 * @param profiler
+	 */
+	public void setProfiler (SystemProfiler profiler)
+	{
+		this.profiler = profiler;
+	}
+
+	/**
+	 * ResetTimes method
+	 */
+	public void resetTimes ()
+	{
+		lastMillis = 0;
+		averageMillis = 0;
+		maxMillis = 0;
+	}
+
+	/**
+	 * GetLastMillis method
+	 * @return
+	 */
+	public float getLastMillis ()
+	{
+		return lastMillis;
+	}
+
+	/**
+	 * GetAverageMillis method
+	 * @return
+	 */
+	public float getAverageMillis ()
+	{
+		return averageMillis;
+	}
+
+	/**
+	 * GetMaxMillis method
+	 * @return
+	 */
+	public float getMaxMillis ()
+	{
+		return maxMillis;
+	}
+}
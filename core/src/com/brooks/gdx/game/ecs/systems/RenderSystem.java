@@ -0,0 +1,143 @@
+package com.brooks.gdx.game.ecs.systems;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.ecs.Mappers;
+import com.brooks.gdx.game.ecs.components.AnimationComponent;
+import com.brooks.gdx.game.ecs.components.TransformComponent;
+
+/**
+ * Draws the entities at their position minus their origin, interpolated between the previous and the current tick.
+ * It doesn't run with the engine update, the renderer calls render() with its batch.
+ * Entities outside the view window are skipped. They move freely, so each one is tested instead of being looked up
+ * in a sorted index.
+ */
+public class RenderSystem extends ProfiledSystem
+{
+	//Declare variables
+	private final Array<TransformComponent> transforms = new Array<TransformComponent>(false, 16, TransformComponent.class);
+	private final Array<AnimationComponent> animations = new Array<AnimationComponent>(false, 16, AnimationComponent.class);
+	private SpriteBatch batch;
+	private float alpha = 1;
+	private float viewLeft = -Float.MAX_VALUE;
+	private float viewBottom = -Float.MAX_VALUE;
+	private float viewRight = Float.MAX_VALUE;
+	private float viewTop = Float.MAX_VALUE;
+	private int drawnCount;
+	private int culledCount;
+
+	/**
+	 * RenderSystem method
+	 * @param priority
+	 */
+	public RenderSystem (int priority)
+	{
+		super(Family.all(TransformComponent.class, AnimationComponent.class).get(), priority);
+		setProcessing(false);
+	}
+
+	/**
+	 * SetInterpolationAlpha method
+	 * @param alpha fraction of a tick the frame is ahead of the last tick
+	 */
+	public void setInterpolationAlpha (float alpha)
+	{
+		this.alpha = alpha;
+	}
+
+	/**
+	 * SetViewWindow method
+	 * @param left
+	 * @param bottom
+	 * @param right
+	 * @param top
+	 */
+	public void setViewWindow (float left, float bottom, float right, float top)
+	{
+		viewLeft = left;
+		viewBottom = bottom;
+		viewRight = right;
+		viewTop = top;
+	}
+
+	/**
+	 * GetDrawnCount method
+	 * @return entities drawn by the last render()
+	 */
+	public int getDrawnCount ()
+	{
+		return drawnCount;
+	}
+
+	/**
+	 * GetCulledCount method
+	 * @return entities outside the view in the last render()
+	 */
+	public int getCulledCount ()
+	{
+		return culledCount;
+	}
+
+	/**
+	 * Render method
+	 * @param batch
+	 */
+	public void render (SpriteBatch batch)
+	{
+		this.batch = batch;
+		if (!isProfiling())
+		{
+			process(0);
+			return;
+		}
+		long start = System.nanoTime();
+		process(0);
+		record(System.nanoTime() - start);
+	}
+
+	@Override
+	protected void added (Entity entity)
+	{
+		transforms.add(Mappers.transform.get(entity));
+		animations.add(Mappers.animation.get(entity));
+	}
+
+	@Override
+	protected void removed (int index)
+	{
+		transforms.removeIndex(index);
+		animations.removeIndex(index);
+	}
+
+	@Override
+	protected void process (float deltaTime)
+	{
+		TransformComponent[] transforms = this.transforms.items;
+		AnimationComponent[] animations = this.animations.items;
+		int drawn = 0;
+		int culled = 0;
+		for (int i = 0, n = this.transforms.size; i < n; i++)
+		{
+			TransformComponent transform = transforms[i];
+			float x = transform.previousPosition.x + (transform.position.x - transform.previousPosition.x) * alpha;
+			float y = transform.previousPosition.y + (transform.position.y - transform.previousPosition.y) * alpha;
+			//Any rotation of the sprite stays within this distance of the origin
+			float reach = (transform.dimension.x + transform.dimension.y) * Math.max(Math.abs(transform.scale.x), Math.abs(transform.scale.y));
+			if (x + reach < viewLeft || x - reach > viewRight || y + reach < viewBottom || y - reach > viewTop)
+			{
+				culled++;
+				continue;
+			}
+			drawn++;
+			TextureRegion region = animations[i].getKeyFrame();
+			float rotation = transform.previousRotation + (transform.rotation - transform.previousRotation) * alpha;
+			batch.draw(region, x - transform.origin.x, y - transform.origin.y, transform.origin.x, transform.origin.y,
+				transform.dimension.x, transform.dimension.y, transform.scale.x, transform.scale.y, rotation);
+		}
+		drawnCount = drawn;
+		culledCount = culled;
+	}
+}
@@ -6,11 +6,13 @@ import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.utils.Pool.Poolable;
+import com.brooks.gdx.game.util.AllocationCounter;
 
 /**
  * Created by: Becky Brooks
  */
-public abstract class AbstractGameObject
+public abstract class AbstractGameObject implements Poolable
 {
 	//Declare variables
 	public Vector2 position;
@@ -26,6 +28,19 @@ public abstract class AbstractGameObject
 	public Body body;
 	public float stateTime;
 	public Animation animation;
+	//Index in the ItemStore that holds the object
+	public int slot = -1;
+	//Not simulated while outside the active region around the camera, see ActivityIndex
+	public boolean dormant;
+	private float sleepTime;
+	//State at the start of the last simulation tick, used to interpolate rendering between ticks.
+	//Allocated by the first savePreviousState(), objects that never move (items) don't carry it
+	private Vector2 previousPosition;
+	private float previousRotation;
+	private boolean hasPreviousState;
+	private Vector2 simulatedPosition;
+	private float simulatedRotation;
+	private boolean interpolated;
 	
 	/**
 	 * AbstractGameObject method
@@ -42,6 +57,36 @@ public abstract class AbstractGameObject
 		friction = new Vector2();
 		acceleration = new Vector2();
 		bounds = new Rectangle();
+		AllocationCounter.gameObjectCreated();
+	}
+	
+	/**
+	 * Reset method
+	 * Puts the object back in the state of a new one, subclasses set their own defaults again after calling this
+	 */
+	@Override
+	public void reset ()
+	{
+		position.setZero();
+		dimension.set(1, 1);
+		origin.setZero();
+		scale.set(1, 1);
+		rotation = 0;
+		velocity.setZero();
+		terminalVelocity.set(1, 1);
+		friction.setZero();
+		acceleration.setZero();
+		bounds.set(0, 0, 0, 0);
+		//The body belongs to the world, whoever frees the object destroys it first
+		body = null;
+		stateTime = 0;
+		animation = null;
+		slot = -1;
+		dormant = false;
+		sleepTime = 0;
+		previousRotation = 0;
+		hasPreviousState = false;
+		interpolated = false;
 	}
 	
 	/**
@@ -59,11 +104,143 @@ public abstract class AbstractGameObject
 			position.x += velocity.x * deltaTime;
 			position.y += velocity.y * deltaTime;
 		}
-		else
+		//Objects with a body are moved by PhysicsSync after each world step
+	}
+	
+	/**
+	 * Sleep method
+	 * Stops simulating the object until wake() is called
+	 * @param clock level time
+	 */
+	public void sleep (float clock)
+	{
+		dormant = true;
+		sleepTime = clock;
+		if (body != null)
+			body.setActive(false);
+	}
+	
+	/**
+	 * Wake method
+	 * Brings the object to the state it would have after being simulated while it was dormant
+	 * @param clock level time
+	 */
+	public void wake (float clock)
+	{
+		dormant = false;
+		advance(clock - sleepTime);
+		if (body != null)
+		{
+			body.setActive(hasActiveBody());
+			body.setTransform(position, rotation * MathUtils.degreesToRadians);
+		}
+		//Don't interpolate from the state before the object fell asleep
+		if (hasPreviousState)
+			savePreviousState();
+	}
+	
+	/**
+	 * GetSleepTime method
+	 * @return level time the object last fell asleep
+	 */
+	public float getSleepTime ()
+	{
+		return sleepTime;
+	}
+	
+	/**
+	 * Advance method
+	 * Advances the state of a dormant object in one go
+	 * @param elapsed seconds since the object fell asleep
+	 */
+	protected void advance (float elapsed)
+	{
+		stateTime += elapsed;
+	}
+	
+	/**
+	 * HasActiveBody method
+	 * @return whether the body takes part in the simulation while the object is awake
+	 */
+	protected boolean hasActiveBody ()
+	{
+		return true;
+	}
+	
+	/**
+	 * GetSpanLeft method
+	 * @return leftmost x the object can reach, objects that move sideways return the left end of their path
+	 */
+	public float getSpanLeft ()
+	{
+		return position.x + bounds.x;
+	}
+	
+	/**
+	 * GetSpanRight method
+	 * @return rightmost x the object can reach
+	 */
+	public float getSpanRight ()
+	{
+		return position.x + bounds.x + bounds.width;
+	}
+	
+	/**
+	 * SavePreviousState method
+	 * Called before every simulation tick and after the object was moved to a new place
+	 */
+	public void savePreviousState ()
+	{
+		if (previousPosition == null)
 		{
-			position.set(body.getPosition());
-			rotation = body.getAngle() * MathUtils.radiansToDegrees;
+			previousPosition = new Vector2();
+			simulatedPosition = new Vector2();
 		}
+		previousPosition.set(position);
+		previousRotation = rotation;
+		hasPreviousState = true;
+	}
+	
+	/**
+	 * BeginInterpolation method
+	 * Moves the object to its interpolated state for rendering, endInterpolation() restores the simulated state
+	 * @param alpha fraction of a tick passed since the last tick, 0 to 1
+	 */
+	public void beginInterpolation (float alpha)
+	{
+		//Objects created since the last tick are drawn where they are
+		if (!hasPreviousState || interpolated)
+			return;
+		interpolated = true;
+		simulatedPosition.set(position);
+		simulatedRotation = rotation;
+		position.set(previousPosition).lerp(simulatedPosition, alpha);
+		rotation = MathUtils.lerpAngleDeg(previousRotation, simulatedRotation, alpha);
+	}
+	
+	/**
+	 * GetInterpolatedPosition method
+	 * @param alpha fraction of a tick passed since the last tick, 0 to 1
+	 * @param out
+	 * @return out, set to the position beginInterpolation() draws the object at
+	 */
+	public Vector2 getInterpolatedPosition (float alpha, Vector2 out)
+	{
+		if (!hasPreviousState || interpolated)
+			return out.set(position);
+		return out.set(previousPosition).lerp(position, alpha);
+	}
+	
+	/**
+	 * EndInterpolation method
+	 */
+	public void endInterpolation ()
+	{
+		if (!interpolated)
+			return;
+		interpolated = false;
+		position.set(simulatedPosition);
+		rotation = simulatedRotation;
 	}
 	
 	/**
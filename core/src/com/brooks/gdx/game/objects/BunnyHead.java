@@ -6,7 +6,6 @@ import com.brooks.gdx.game.Assets;
 import com.brooks.gdx.game.util.Constants;
 import com.brooks.gdx.game.util.CharacterSkin;
 import com.brooks.gdx.game.util.GamePreferences;
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.math.MathUtils;
 import com.brooks.gdx.game.util.AudioManager;
@@ -22,7 +21,7 @@ public class BunnyHead extends AbstractGameObject
 	private final float JUMP_TIME_MAX = 0.3f;
 	private final float JUMP_TIME_MIN = 0.1f;
 	private final float JUMP_TIME_OFFSET_FLYING = JUMP_TIME_MAX - 0.018f;
-	public ParticleEffect dustParticles = new ParticleEffect();
+	public ParticleEffect dustParticles;
 	private Animation animNormal;
 	private Animation animCopterTransform;
 	private Animation animCopterTransformBack;
@@ -83,8 +82,24 @@ public class BunnyHead extends AbstractGameObject
 		//Powerups
 		hasFeatherPowerup = false;
 		timeLeftFeatherPowerup = 0;
-		//Particles
-		dustParticles.load(Gdx.files.internal("particles/dust"), Gdx.files.internal("particles"));
+		//Particles (copy of the loaded effect, shares its texture), a reused bunny drops the old ones
+		if (dustParticles == null)
+			dustParticles = new ParticleEffect(Assets.instance.particles.dust);
+		else
+		{
+			dustParticles.reset();
+			dustParticles.allowCompletion();
+		}
+	}
+	
+	/**
+	 * Reset method
+	 */
+	@Override
+	public void reset()
+	{
+		super.reset();
+		init();
 	}
 	
 	/**
@@ -150,7 +165,9 @@ public class BunnyHead extends AbstractGameObject
 	@Override
 	public void update (float deltaTime)
 	{
-		super.update(deltaTime);
+		stateTime += deltaTime;
+		//Friction, acceleration and the move itself are integrated by the MotionSystem of the level's EcsWorld
+		updateJump(deltaTime);
 		if (velocity.x != 0)
 		{
 			viewDirection = velocity.x < 0 ? VIEW_DIRECTION.LEFT : VIEW_DIRECTION.RIGHT;
@@ -203,10 +220,11 @@ public class BunnyHead extends AbstractGameObject
 	}
 	
 	/**
-	 * UpdateMotionY method
+	 * UpdateJump method
+	 * Sets the vertical velocity of the jump, before the MotionSystem applies gravity
+	 * @param deltaTime
 	 */
-	@Override
-	protected void updateMotionY (float deltaTime)
+	private void updateJump (float deltaTime)
 	{
 		switch (jumpState)
 		{
@@ -241,10 +259,7 @@ public class BunnyHead extends AbstractGameObject
 				}
 		}
 		if (jumpState != JUMP_STATE.GROUNDED)
-		{
 			dustParticles.allowCompletion();
-			super.updateMotionY(deltaTime);
-		}
 	}
 	
 	/**
@@ -3,51 +3,51 @@ package com.brooks.gdx.game.objects;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
 import com.brooks.gdx.game.Assets;
 
 /**
  * Created by: Becky Brooks
+ * Clouds sit on an endless lattice that drifts left. Only the lattice cells around the view have a cloud: they live
+ * in a fixed ring of slots, a slot is filled when its cell comes into the window and taken over by the next cell that
+ * maps to it. Each cloud's look and speed follow from its cell number, so a cell that comes back shows the same cloud,
+ * and the cost per frame depends on the view width only. Every speed is a lane of its own: the lane scans the cells
+ * in the window shifted by its speed and draws the ones whose speed it is.
  */
 public class Clouds extends AbstractGameObject
 {
 	//Declare variables
-	private float length;
-	private Array<TextureRegion> regClouds;
-	private Array<Cloud> clouds;
+	//Distance between lattice cells
+	private static final float SPACING = 5;
+	//Speeds the clouds drift left with, one per lane, each cell picks one
+	private static final float[] DRIFT_SPEEDS = { 0.5f, 0.75f, 1.0f, 1.25f };
+	//Clouds are moved up to this far from their cell
+	private static final float JITTER = 1.5f;
+	private TextureRegion[] regClouds;
+	//Ring of slots per lane
+	private Cloud[][] slots;
+	//Seconds since the clouds were created, positions are computed from it when they are drawn
+	private float time;
+	//Part of the world the camera shows
+	private float viewLeft;
+	private float viewRight = -1;
 	
 	/**
-	 * Cloud
+	 * Cloud slot
 	 */
-	private class Cloud extends AbstractGameObject
+	private static class Cloud
 	{
-		private TextureRegion regCloud;
-
-		public Cloud ()
-		{
-		}
-
-		public void setRegion (TextureRegion region)
-		{
-			regCloud = region;
-		}
-
-		@Override
-		public void render (SpriteBatch batch)
-		{
-			TextureRegion reg = regCloud;
-			batch.draw(reg.getTexture(), position.x + origin.x, position.y + origin.y, origin.x, origin.y, dimension.x, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(), reg.getRegionY(), reg.getRegionWidth(), reg.getRegionHeight(), false, false);
-		}
+		//Lattice cell the slot holds, or Integer.MIN_VALUE while empty
+		int cell = Integer.MIN_VALUE;
+		TextureRegion region;
+		float offsetX;
+		float y;
 	}
 	
 	/**
 	 * Clouds
-	 * @param length
 	 */
-	public Clouds (float length)
+	public Clouds ()
 	{
-		this.length = length;
 		init();
 	}
 	
@@ -57,52 +57,21 @@ public class Clouds extends AbstractGameObject
 	private void init()
 	{
 		dimension.set(3.0f, 1.5f);
-		regClouds = new Array<TextureRegion>();
-		regClouds.add(Assets.instance.levelDecoration.cloud01);
-		regClouds.add(Assets.instance.levelDecoration.cloud02);
-		regClouds.add(Assets.instance.levelDecoration.cloud03);
-
-		int distFac = 5;
-		int numClouds = (int)(length / distFac);
-		clouds = new Array<Cloud>(2 * numClouds);
-		for (int i = 0; i < numClouds; i++)
-		{
-			Cloud cloud = spawnCloud();
-			cloud.position.x = i * distFac;
-			clouds.add(cloud);
-		}
+		regClouds = new TextureRegion[] { Assets.instance.levelDecoration.cloud01, Assets.instance.levelDecoration.cloud02,
+			Assets.instance.levelDecoration.cloud03 };
+		//Grows on the first frame to fit the view
+		slots = new Cloud[DRIFT_SPEEDS.length][0];
 	}
 	
 	/**
-	 * SpawnCloud method
-	 * @return
+	 * SetViewWindow method
+	 * @param left
+	 * @param right
 	 */
-	private Cloud spawnCloud()
+	public void setViewWindow (float left, float right)
 	{
-		Cloud cloud = new Cloud();
-		cloud.dimension.set(dimension);
-		//Select random cloud image
-		cloud.setRegion(regClouds.random());
-		//Position
-		Vector2 pos = new Vector2();
-		//Position after end of level
-		pos.x = length + 10;
-		//Base position
-		pos.y += 1.75;
-		//Random additional position
-		pos.y += MathUtils.random(0.0f, 0.2f) * (MathUtils.randomBoolean() ? 1 : -1);
-		cloud.position.set(pos);
-		//Speed
-		Vector2 speed = new Vector2();
-		//Base speed
-		speed.x += 0.5f;
-		//Random additional speed
-		speed.x += MathUtils.random(0.0f, 0.75f);
-		cloud.terminalVelocity.set(speed);
-		//Move left
-		speed.x *= -1;
-		cloud.velocity.set(speed);
-		return cloud;
+		viewLeft = left;
+		viewRight = right;
 	}
 	
 	/**
@@ -111,26 +80,104 @@ public class Clouds extends AbstractGameObject
 	@Override
 	public void render (SpriteBatch batch)
 	{
-		for (Cloud cloud : clouds)
-			cloud.render(batch);
+		if (viewRight < viewLeft)
+			return;
+		for (int lane = 0; lane < DRIFT_SPEEDS.length; lane++)
+		{
+			float shift = DRIFT_SPEEDS[lane] * time;
+			//Cells whose cloud can overlap the view, the clouds just outside it are generated before they come in
+			int first = MathUtils.floor((viewLeft + shift - JITTER - dimension.x) / SPACING);
+			int last = MathUtils.ceil((viewRight + shift + JITTER) / SPACING);
+			if (last - first + 1 > slots[lane].length)
+				growSlots(lane, last - first + 1);
+			Cloud[] ring = slots[lane];
+			for (int cell = first; cell <= last; cell++)
+			{
+				if (laneOf(cell) != lane)
+					continue;
+				Cloud cloud = ring[slotOf(cell, ring.length)];
+				//The slot still holds a cloud that left the view, it is retired and the slot reused
+				if (cloud.cell != cell)
+					generate(cloud, cell);
+				float x = cell * SPACING + cloud.offsetX - shift;
+				TextureRegion reg = cloud.region;
+				batch.draw(reg.getTexture(), x + origin.x, cloud.y + origin.y, origin.x, origin.y, dimension.x, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(), reg.getRegionY(), reg.getRegionWidth(), reg.getRegionHeight(), false, false);
+			}
+		}
+	}
+	
+	/**
+	 * LaneOf method
+	 * @param cell
+	 * @return lane of the drift speed of the lattice cell's cloud
+	 */
+	private static int laneOf (int cell)
+	{
+		return (int)(hash(cell, 4) * DRIFT_SPEEDS.length);
+	}
+	
+	/**
+	 * SlotOf method
+	 * @param cell
+	 * @param count number of slots in the ring
+	 * @return index of the ring slot for the lattice cell
+	 */
+	private static int slotOf (int cell, int count)
+	{
+		int slot = cell % count;
+		return slot < 0 ? slot + count : slot;
+	}
+	
+	/**
+	 * GrowSlots method
+	 * Only happens when the view gets wider, all slots of the lane are generated again from their cells
+	 * @param lane
+	 * @param count
+	 */
+	private void growSlots (int lane, int count)
+	{
+		slots[lane] = new Cloud[count];
+		for (int i = 0; i < count; i++)
+			slots[lane][i] = new Cloud();
+	}
+	
+	/**
+	 * Generate method
+	 * Picks the image, height and offset of the cloud of a lattice cell
+	 * @param cloud
+	 * @param cell
+	 */
+	private void generate (Cloud cloud, int cell)
+	{
+		cloud.cell = cell;
+		cloud.region = regClouds[(int)(hash(cell, 1) * regClouds.length)];
+		cloud.offsetX = (hash(cell, 2) * 2 - 1) * JITTER;
+		//Base height plus a random additional height
+		cloud.y = 1.75f + (hash(cell, 3) * 2 - 1) * 0.2f;
+	}
+	
+	/**
+	 * Hash method
+	 * @param cell
+	 * @param salt selects one of the values of a cell
+	 * @return value in [0, 1) that only depends on the cell and the salt
+	 */
+	private static float hash (int cell, int salt)
+	{
+		int h = cell * 0x9E3779B1 + salt * 0x85EBCA6B;
+		h ^= h >>> 16;
+		h *= 0x7FEB352D;
+		h ^= h >>> 15;
+		return (h >>> 8) / (float)(1 << 24);
 	}
 	
 	/**
 	 * Update method
+	 * Only advances the clock, the clouds are placed when they are drawn
 	 */
 	@Override
 	public void update (float deltaTime)
 	{
-		for (int i = clouds.size - 1; i >= 0; i--)
-		{
-			Cloud cloud = clouds.get(i);
-			cloud.update(deltaTime);
-			if (cloud.position.x < -10)
-			{
-				//Cloud moved outside of world. Destroy and spawn new cloud at end of level
-				clouds.removeIndex(i);
-				clouds.add(spawnCloud());
-			}
-		}
+		time += deltaTime;
 	}
-}
\ No newline at end of file
+}
@@ -33,6 +33,16 @@ public class Feather extends AbstractGameObject
 		collected = false;
 	}
 	
+	/**
+	 * Reset method
+	 */
+	@Override
+	public void reset ()
+	{
+		super.reset();
+		init();
+	}
+	
 	/**
 	 * Render method
 	 */
@@ -53,4 +63,14 @@ public class Feather extends AbstractGameObject
 	{
 		return 250;
 	}
-}
+	
+	/**
+	 * HasActiveBody method
+	 * @return whether the sensor is still needed
+	 */
+	@Override
+	protected boolean hasActiveBody()
+	{
+		return !collected;
+	}
+}
\ No newline at end of file
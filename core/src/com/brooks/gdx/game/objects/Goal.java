@@ -34,6 +34,16 @@ public class Goal extends AbstractGameObject
 		origin.set(dimension.x / 2.0f, 0.0f);
 	}
 	
+	/**
+	 * Reset method
+	 */
+	@Override
+	public void reset ()
+	{
+		super.reset();
+		init();
+	}
+	
 	/**
 	 * Render function
 	 */
@@ -35,6 +35,16 @@ public class GoldCoin extends AbstractGameObject
 		collected = false;
 	}
 	
+	/**
+	 * Reset method
+	 */
+	@Override
+	public void reset ()
+	{
+		super.reset();
+		init();
+	}
+	
 	/**
 	 * Render method
 	 */
@@ -55,4 +65,14 @@ public class GoldCoin extends AbstractGameObject
 	{
 		return 100;
 	}
+	
+	/**
+	 * HasActiveBody method
+	 * @return whether the sensor is still needed
+	 */
+	@Override
+	protected boolean hasActiveBody()
+	{
+		return !collected;
+	}
 }
\ No newline at end of file
@@ -1,20 +1,23 @@
 package com.brooks.gdx.game.objects;
 
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.brooks.gdx.game.Assets;
 import com.badlogic.gdx.math.Vector2;
 
 /**
  * Created by: Becky Brooks
+ * Each layer is one quad over the width of the view. The mountain pair repeats in its texture, so the u coordinates
+ * of the quad are its distance to the start of the layer counted in pairs; the cost doesn't depend on the level length.
  */
 public class Mountains extends AbstractGameObject
 {
 	//Declare variables
-	private TextureRegion regMountainLeft;
-	private TextureRegion regMountainRight;
 	private int length;
+	//Part of the world the camera shows
+	private float viewLeft;
+	private float viewRight = -1;
 	
 	/**
 	 * Mountains
@@ -32,14 +35,23 @@ public class Mountains extends AbstractGameObject
 	public void init()
 	{
 		dimension.set(10, 2);
-		regMountainLeft = Assets.instance.levelDecoration.mountainLeft;
-		regMountainRight = Assets.instance.levelDecoration.mountainRight;
 
 		//Shift mountain and extend length
 		origin.x = -dimension.x * 2;
 		length += dimension.x * 2;
 	}
 	
+	/**
+	 * SetViewWindow method
+	 * @param left
+	 * @param right
+	 */
+	public void setViewWindow (float left, float right)
+	{
+		viewLeft = left;
+		viewRight = right;
+	}
+	
 	/**
 	 * DrawMountain method
 	 * @param batch
@@ -50,31 +62,26 @@ public class Mountains extends AbstractGameObject
 	 */
 	private void drawMountain (SpriteBatch batch, float offsetX, float offsetY, float tintColor, float parallaxSpeedX)
 	{
-		TextureRegion reg = null;
-		batch.setColor(tintColor, tintColor, tintColor, 1);
-		float xRel = dimension.x * offsetX;
-		float yRel = dimension.y * offsetY;
-
-		//Mountains span the whole level
+		//Mountains span the whole level, a pair of left and right mountain at a time
+		float pairWidth = 2 * dimension.x;
 		int mountainLength = 0;
-		mountainLength += MathUtils.ceil(length / (2 * dimension.x) * (1 - parallaxSpeedX));
+		mountainLength += MathUtils.ceil(length / pairWidth * (1 - parallaxSpeedX));
 		mountainLength += MathUtils.ceil(0.5f + offsetX);
-		for (int i = 0; i < mountainLength; i++)
-		{
-			//Mountain left
-			reg = regMountainLeft;
-			batch.draw(reg.getTexture(), origin.x + xRel + position.x * parallaxSpeedX, position.y + origin.y + yRel, origin.x, origin.y, dimension.x, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(), reg.getRegionY(), reg.getRegionWidth(), reg.getRegionHeight(), false, false);
-			xRel += dimension.x;
-
-			//Mountain right
-			reg = regMountainRight;
-			batch.draw(reg.getTexture(), origin.x + xRel + position.x * parallaxSpeedX, position.y + origin.y + yRel, origin.x, origin.y, dimension.x, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(), reg.getRegionY(), reg.getRegionWidth(), reg.getRegionHeight(), false, false);
-			xRel += dimension.x;
-		}
+		float layerLeft = origin.x + dimension.x * offsetX + position.x * parallaxSpeedX;
+		float layerRight = layerLeft + mountainLength * pairWidth;
+		float left = Math.max(viewLeft, layerLeft);
+		float right = Math.min(viewRight, layerRight);
+		if (right <= left)
+			return;
+		float u = (left - layerLeft) / pairWidth;
+		float u2 = (right - layerLeft) / pairWidth;
+		batch.setColor(tintColor, tintColor, tintColor, 1);
+		//Looked up each time, resume() creates the texture again
+		Texture texMountains = Assets.instance.levelDecoration.mountains;
+		batch.draw(texMountains, left, position.y + origin.y + dimension.y * offsetY, right - left, dimension.y, u, 1, u2, 0);
 		//Reset color to white
 		batch.setColor(1, 1, 1, 1);
 	}
-	
 	/**
 	 * Render method
 	 */
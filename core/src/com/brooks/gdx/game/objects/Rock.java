@@ -2,9 +2,10 @@ package com.brooks.gdx.game.objects;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.brooks.gdx.game.Assets;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.brooks.gdx.game.Assets;
+import com.brooks.gdx.game.util.MotionPath;
+import com.brooks.gdx.game.util.PathFollower;
 
 /**
  * Created by: Becky Brooks
@@ -15,11 +16,10 @@ public class Rock extends AbstractGameObject
 	private TextureRegion regEdge;
 	private TextureRegion regMiddle;
 	private int length;
-	private final float FLOAT_CYCLE_TIME = 2.0f;
-	private final float FLOAT_AMPLITUDE = 0.25f;
-	private float floatCycleTimeLeft;
-	private boolean floatingDownwards;
-	private Vector2 floatTargetPosition;
+	//Path the rock follows, null for a rock that stays where it is
+	private PathFollower motion;
+	//Kept when the rock is reset, so a pooled rock doesn't need a new follower
+	private PathFollower follower;
 	
 	/**
 	 * Rock
@@ -39,9 +39,17 @@ public class Rock extends AbstractGameObject
 		regMiddle = Assets.instance.rock.middle;
 		//Start length of this rock
 		setLength(1);
-		floatingDownwards = false;
-		floatCycleTimeLeft = MathUtils.random(0, FLOAT_CYCLE_TIME / 2);
-		floatTargetPosition = null;
+		motion = null;
+	}
+	
+	/**
+	 * Reset method
+	 */
+	@Override
+	public void reset()
+	{
+		super.reset();
+		init();
 	}
 	
 	/**
@@ -55,6 +63,24 @@ public class Rock extends AbstractGameObject
 		bounds.set(0, 0, dimension.x * length, dimension.y);
 	}
 	
+	/**
+	 * GetLength method
+	 * @return number of middle pieces
+	 */
+	public int getLength()
+	{
+		return length;
+	}
+	
+	/**
+	 * IsShaderDriven method
+	 * @return whether the rock's movement can be computed by the rock shader, see RockMesh
+	 */
+	public boolean isShaderDriven()
+	{
+		return motion == null || motion.path instanceof MotionPath.SineBob || motion.path instanceof MotionPath.PingPong;
+	}
+	
 	/**
 	 * IncreaseLength method
 	 * @param amount
@@ -64,6 +90,100 @@ public class Rock extends AbstractGameObject
 		setLength(length + amount);
 	}
 	
+	/**
+	 * SetMotion method
+	 * The path is anchored at the current position
+	 * @param path or null to stop moving
+	 */
+	public void setMotion(MotionPath path)
+	{
+		setMotion(path, 0);
+	}
+	
+	/**
+	 * SetMotion method
+	 * @param path or null to stop moving
+	 * @param timeOffset shifts where on the path the rock is, rocks of a kind share one path
+	 */
+	public void setMotion(MotionPath path, float timeOffset)
+	{
+		if (path == null)
+		{
+			motion = null;
+			return;
+		}
+		if (follower == null)
+			follower = new PathFollower(path, position.x, position.y);
+		follower.set(path, position.x, position.y, timeOffset);
+		motion = follower;
+	}
+	
+	/**
+	 * GetMotion method
+	 * @return
+	 */
+	public PathFollower getMotion()
+	{
+		return motion;
+	}
+	
+	/**
+	 * UpdateMotion method
+	 * Moves the rock to where its path puts it at the given time
+	 * @param clock level time
+	 */
+	public void updateMotion(float clock)
+	{
+		if (motion != null)
+			motion.positionAt(clock, position);
+	}
+	
+	/**
+	 * GetDisplacement method
+	 * @param clock level time at the end of the step
+	 * @param step
+	 * @param out
+	 * @return out, set to how far the rock moved during the step, zero for a rock that stays where it is
+	 */
+	public Vector2 getDisplacement(float clock, float step, Vector2 out)
+	{
+		if (motion == null)
+			return out.setZero();
+		return motion.deltaAt(clock, step, out);
+	}
+	
+	/**
+	 * Wake method
+	 * The position comes straight from the level clock, the body starts a new segment with the next step
+	 */
+	@Override
+	public void wake(float clock)
+	{
+		updateMotion(clock);
+		if (motion != null)
+			motion.invalidate();
+		super.wake(clock);
+	}
+	
+	/**
+	 * GetSpanLeft method
+	 * Covers the whole path, so a moving rock keeps its place in the ActivityIndex
+	 */
+	@Override
+	public float getSpanLeft()
+	{
+		return (motion == null ? position.x : motion.getMinX()) + bounds.x;
+	}
+	
+	/**
+	 * GetSpanRight method
+	 */
+	@Override
+	public float getSpanRight()
+	{
+		return (motion == null ? position.x : motion.getMaxX()) + bounds.x + bounds.width;
+	}
+	
 	/**
 	 * Render method
 	 */
@@ -92,24 +212,4 @@ public class Rock extends AbstractGameObject
 		reg = regEdge;
 		batch.draw(reg.getTexture(), position.x + relX, position.y + relY, origin.x + dimension.x / 8, origin.y, dimension.x / 4, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(), reg.getRegionY(), reg.getRegionWidth(), reg.getRegionHeight(), true, false);
 	}
-	
-	/**
-	 * Update method
-	 */
-	@Override
-	public void update(float deltaTime)
-	{
-		super.update(deltaTime);
-		floatCycleTimeLeft -= deltaTime;
-		if (floatCycleTimeLeft <= 0)
-		{
-			floatCycleTimeLeft = FLOAT_CYCLE_TIME;
-			floatingDownwards = !floatingDownwards;
-			body.setLinearVelocity(0, FLOAT_AMPLITUDE * (floatingDownwards ? -1 : 1));
-		}
-		else
-		{
-			body.setLinearVelocity(body.getLinearVelocity().scl(0.98f));
-		}
-	}
 }
\ No newline at end of file
@@ -6,12 +6,17 @@ import com.brooks.gdx.game.Assets;
 
 /**
  * Created by: Becky Brooks
+ * The water is drawn as one quad over the width of the view only. It shows the part of the texture a quad ten times
+ * the level width would show there, so it looks the same as the old full-width quad.
  */
 public class WaterOverlay extends AbstractGameObject
 {
 	//Declare variables
 	private TextureRegion regWaterOverlay;
 	private float length;
+	//Part of the world the camera shows
+	private float viewLeft;
+	private float viewRight = -1;
 	
 	/**
 	 * WaterOverlay
@@ -33,14 +38,33 @@ public class WaterOverlay extends AbstractGameObject
 		origin.x = -dimension.x / 2;
 	}
 	
+	/**
+	 * SetViewWindow method
+	 * @param left
+	 * @param right
+	 */
+	public void setViewWindow (float left, float right)
+	{
+		viewLeft = left;
+		viewRight = right;
+	}
+	
 	/**
 	 * Render method
 	 */
 	@Override
 	public void render (SpriteBatch batch)
 	{
-		TextureRegion reg = null;
-		reg = regWaterOverlay;
-		batch.draw(reg.getTexture(), position.x + origin.x, position.y + origin.y, origin.x, origin.y, dimension.x, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(), reg.getRegionY(), reg.getRegionWidth(), reg.getRegionHeight(), false, false);
+		//The texture is laid out over this span
+		float spanLeft = position.x + origin.x;
+		float spanRight = spanLeft + dimension.x;
+		float left = Math.max(viewLeft, spanLeft);
+		float right = Math.min(viewRight, spanRight);
+		if (right <= left)
+			return;
+		TextureRegion reg = regWaterOverlay;
+		float u = reg.getU() + (reg.getU2() - reg.getU()) * (left - spanLeft) / dimension.x;
+		float u2 = reg.getU() + (reg.getU2() - reg.getU()) * (right - spanLeft) / dimension.x;
+		batch.draw(reg.getTexture(), left, position.y + origin.y, right - left, dimension.y, u, reg.getV2(), u2, reg.getV());
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.brooks.gdx.game.postprocess;
+
+import com.brooks.gdx.game.util.Constants;
+
+/**
+ * Mixes the image with its grayscale version
+ */
+public class MonochromeEffect extends PostEffect
+{
+	//Declare variables
+	private float amount = 1.0f;
+
+	/**
+	 * MonochromeEffect method
+	 */
+	public MonochromeEffect ()
+	{
+		super(Constants.shaderMonochromeFragment);
+	}
+
+	/**
+	 * SetAmount method
+	 * @param amount 0 for color, 1 for grayscale
+	 */
+	public void setAmount (float amount)
+	{
+		this.amount = amount;
+	}
+
+	/**
+	 * SetUniforms method
+	 */
+	@Override
+	protected void setUniforms ()
+	{
+		shader.setUniformf("u_amount", amount);
+	}
+}
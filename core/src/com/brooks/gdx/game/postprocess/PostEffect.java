@@ -0,0 +1,82 @@
+package com.brooks.gdx.game.postprocess;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.brooks.gdx.game.util.Constants;
+
+/**
+ * One full-screen pass of the PostProcessor: a fragment shader that reads the output of the previous pass from
+ * u_texture. The pass runs at its resolution scale times the screen size, so a blur can run on a smaller buffer.
+ */
+public abstract class PostEffect implements Disposable
+{
+	//Declare variables
+	protected final ShaderProgram shader;
+	private float resolutionScale = 1.0f;
+	private boolean enabled = true;
+
+	/**
+	 * PostEffect method
+	 * @param fragmentShader internal path of the fragment shader
+	 */
+	protected PostEffect (String fragmentShader)
+	{
+		shader = new ShaderProgram(Gdx.files.internal(Constants.shaderPostVertex), Gdx.files.internal(fragmentShader));
+		if (!shader.isCompiled())
+			throw new GdxRuntimeException("Could not compile shader program: " + shader.getLog());
+	}
+
+	/**
+	 * SetUniforms method
+	 * Sets the uniforms of the effect, the shader is bound and u_texture is set
+	 */
+	protected abstract void setUniforms ();
+
+	/**
+	 * IsEnabled method
+	 * @return
+	 */
+	public boolean isEnabled ()
+	{
+		return enabled;
+	}
+
+	/**
+	 * SetEnabled method
+	 * @param enabled
+	 */
+	public void setEnabled (boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	/**
+	 * GetResolutionScale method
+	 * @return
+	 */
+	public float getResolutionScale ()
+	{
+		return resolutionScale;
+	}
+
+	/**
+	 * SetResolutionScale method
+	 * @param resolutionScale size of the buffer the pass renders into, relative to the screen; the last pass always
+	 * renders to the screen
+	 */
+	public void setResolutionScale (float resolutionScale)
+	{
+		this.resolutionScale = resolutionScale;
+	}
+
+	/**
+	 * Dispose method
+	 */
+	@Override
+	public void dispose ()
+	{
+		shader.dispose();
+	}
+}
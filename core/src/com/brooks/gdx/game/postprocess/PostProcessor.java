@@ -0,0 +1,194 @@
+package com.brooks.gdx.game.postprocess;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Renders the scene between begin() and end() into an offscreen buffer, then runs the enabled effects over it in
+ * order, each as one full-screen quad. A pass reads the output of the one before and writes into a buffer of its own
+ * size that isn't its source, so with equal sizes two buffers are used in turn. The last pass writes to the screen.
+ * Each effect costs one shader run per pixel, no matter how many sprites overlap there.
+ * Without an enabled effect begin() does nothing and the scene is drawn to the screen directly.
+ */
+public class PostProcessor implements Disposable
+{
+	//Declare variables
+	public static final String TAG = PostProcessor.class.getName();
+	private final Array<PostEffect> effects = new Array<PostEffect>();
+	//Offscreen buffers of all sizes in use, the scene is drawn into one of the screen size
+	private final Array<FrameBuffer> buffers = new Array<FrameBuffer>();
+	private final Mesh quad;
+	private FrameBuffer scene;
+	private int width;
+	private int height;
+
+	/**
+	 * PostProcessor method
+	 */
+	public PostProcessor ()
+	{
+		//Covers the screen in normalized device coordinates
+		quad = new Mesh(true, 4, 0,
+			new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+		quad.setVertices(new float[] {-1, -1, 0, 0, 1, -1, 1, 0, 1, 1, 1, 1, -1, 1, 0, 1});
+		resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+	}
+
+	/**
+	 * Add method
+	 * Effects run in the order they are added, the processor disposes them
+	 * @param effect
+	 */
+	public void add (PostEffect effect)
+	{
+		effects.add(effect);
+	}
+
+	/**
+	 * Resize method
+	 * Drops the buffers, they are created again in the new size when needed
+	 * @param width
+	 * @param height
+	 */
+	public void resize (int width, int height)
+	{
+		this.width = width;
+		this.height = height;
+		disposeBuffers();
+	}
+
+	/**
+	 * Begin method
+	 * Redirects the drawing into the scene buffer, cleared with the current clear color
+	 * @return whether the scene is captured, end() must be called then
+	 */
+	public boolean begin ()
+	{
+		if (scene != null || getLastEnabled() < 0 || width <= 0 || height <= 0)
+			return false;
+		scene = obtain(width, height, null);
+		scene.begin();
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		return true;
+	}
+
+	/**
+	 * End method
+	 * Runs the effects over the captured scene and writes the result to the screen
+	 */
+	public void end ()
+	{
+		if (scene == null)
+			return;
+		scene.end();
+		FrameBuffer source = scene;
+		scene = null;
+		Gdx.gl.glDisable(GL20.GL_BLEND);
+		int last = getLastEnabled();
+		for (int i = 0; i <= last; i++)
+		{
+			PostEffect effect = effects.get(i);
+			if (!effect.isEnabled())
+				continue;
+			if (i == last)
+			{
+				render(source, effect);
+				break;
+			}
+			float scale = effect.getResolutionScale();
+			FrameBuffer target = obtain(Math.max(1, MathUtils.round(width * scale)), Math.max(1, MathUtils.round(height * scale)), source);
+			target.begin();
+			render(source, effect);
+			target.end();
+			source = target;
+		}
+	}
+
+	/**
+	 * Render method
+	 * Draws the source over the whole current target with the shader of the effect
+	 * @param source
+	 * @param effect
+	 */
+	private void render (FrameBuffer source, PostEffect effect)
+	{
+		source.getColorBufferTexture().bind(0);
+		ShaderProgram shader = effect.shader;
+		shader.begin();
+		shader.setUniformi("u_texture", 0);
+		effect.setUniforms();
+		quad.render(shader, GL20.GL_TRIANGLE_FAN);
+		shader.end();
+	}
+
+	/**
+	 * GetLastEnabled method
+	 * @return index of the last enabled effect, -1 if there is none
+	 */
+	private int getLastEnabled ()
+	{
+		for (int i = effects.size - 1; i >= 0; i--)
+		{
+			if (effects.get(i).isEnabled())
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Obtain method
+	 * @param width
+	 * @param height
+	 * @param exclude buffer that is read from and can't be the target
+	 * @return a buffer of the size, created if there is no free one
+	 */
+	private FrameBuffer obtain (int width, int height, FrameBuffer exclude)
+	{
+		for (int i = 0; i < buffers.size; i++)
+		{
+			FrameBuffer buffer = buffers.get(i);
+			if (buffer != exclude && buffer.getWidth() == width && buffer.getHeight() == height)
+				return buffer;
+		}
+		FrameBuffer buffer = new FrameBuffer(Format.RGBA8888, width, height, false);
+		//Passes at a smaller scale are stretched over the next one
+		buffer.getColorBufferTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
+		buffers.add(buffer);
+		Gdx.app.debug(TAG, "Created " + width + "x" + height + " buffer, " + buffers.size + " in use");
+		return buffer;
+	}
+
+	/**
+	 * DisposeBuffers method
+	 */
+	private void disposeBuffers ()
+	{
+		for (int i = 0; i < buffers.size; i++)
+			buffers.get(i).dispose();
+		buffers.clear();
+		scene = null;
+	}
+
+	/**
+	 * Dispose method
+	 */
+	@Override
+	public void dispose ()
+	{
+		disposeBuffers();
+		for (int i = 0; i < effects.size; i++)
+			effects.get(i).dispose();
+		quad.dispose();
+	}
+}
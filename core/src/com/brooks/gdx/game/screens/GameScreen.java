@@ -38,6 +38,9 @@ public class GameScreen extends AbstractGameScreen
 		{
 			//Update game world by the time that has passed since the last rendered frame
 			worldController.update(deltaTime);
+			//The update switched to another screen, which hid this one
+			if (worldRenderer == null)
+				return;
 		}
 		//Set the clear screen color to: Cornflower Blue
 		Gdx.gl.glClearColor(0x64 / 255.0f, 0x95 / 255.0f, 0xed / 255.0f, 0xff / 255.0f);
@@ -74,6 +77,15 @@ public class GameScreen extends AbstractGameScreen
 	@Override
 	public void hide ()
 	{
+		//The menu creates a new game screen each time, so everything show() created goes here
+		if (worldController != null)
+			worldController.dispose();
+		worldController = null;
+		//Also stops GLProfiler, which is global and must not outlive the screen
+		if (worldRenderer != null)
+			worldRenderer.dispose();
+		worldRenderer = null;
+		Gdx.input.setCatchBackKey(false);
 	}
 	
 	/**
@@ -102,8 +114,6 @@ public class GameScreen extends AbstractGameScreen
 	@Override
 	public void dispose()
 	{
-		worldController.dispose();
-		worldRenderer.dispose();
-		Gdx.input.setCatchBackKey(false);
+		hide();
 	}
 }
\ No newline at end of file
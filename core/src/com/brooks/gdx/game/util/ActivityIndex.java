@@ -0,0 +1,206 @@
+package com.brooks.gdx.game.util;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+
+/**
+ * Objects sorted by the left end of their span, split into the ones inside the active region around the camera and dormant ones.
+ * Only awake objects are simulated. Objects that leave the region are put to sleep and catch up analytically when
+ * they enter it again, so the cost of an update depends on the size of the region, not on the size of the level.
+ * The span of an object (see {@link AbstractGameObject#getSpanLeft()}) must not change while it is in the index.
+ */
+public class ActivityIndex<T extends AbstractGameObject>
+{
+	//Declare variables
+	private static final Comparator<AbstractGameObject> BY_X = new Comparator<AbstractGameObject>()
+	{
+		@Override
+		public int compare (AbstractGameObject a, AbstractGameObject b)
+		{
+			return Float.compare(a.getSpanLeft(), b.getSpanLeft());
+		}
+	};
+	private final Array<T> sorted = new Array<T>();
+	private final Array<T> active = new Array<T>();
+	//Objects woken by the last update
+	private final Array<T> woken = new Array<T>();
+	//Widest span, objects starting this far left of the region may still reach into it
+	private float maxWidth;
+
+	/**
+	 * Add method
+	 * The object starts dormant and wakes with the next update if it is inside the region
+	 * @param object
+	 * @param clock
+	 */
+	public void add (T object, float clock)
+	{
+		float spanLeft = object.getSpanLeft();
+		int index = lowerBound(spanLeft);
+		while (index < sorted.size && sorted.get(index).getSpanLeft() == spanLeft)
+			index++;
+		sorted.insert(index, object);
+		maxWidth = Math.max(maxWidth, object.getSpanRight() - object.getSpanLeft());
+		object.sleep(clock);
+	}
+
+	/**
+	 * Remove method
+	 * @param object
+	 */
+	public void remove (T object)
+	{
+		float spanLeft = object.getSpanLeft();
+		int index = lowerBound(spanLeft);
+		for (; index < sorted.size; index++)
+		{
+			if (sorted.get(index) == object)
+			{
+				sorted.removeIndex(index);
+				active.removeValue(object, true);
+				woken.removeValue(object, true);
+				return;
+			}
+			if (sorted.get(index).getSpanLeft() > spanLeft)
+				return;
+		}
+	}
+
+	/**
+	 * Rebuild method
+	 * Replaces the content with the given objects, all dormant
+	 * @param objects
+	 * @param count number of objects to take from the start of the array
+	 * @param clock
+	 */
+	public void rebuild (Array<? extends T> objects, int count, float clock)
+	{
+		sorted.clear();
+		active.clear();
+		woken.clear();
+		for (int i = 0; i < count; i++)
+		{
+			T object = objects.get(i);
+			sorted.add(object);
+			maxWidth = Math.max(maxWidth, object.getSpanRight() - object.getSpanLeft());
+			object.sleep(clock);
+		}
+		sorted.sort(BY_X);
+	}
+
+	/**
+	 * Update method
+	 * Puts objects that left the region to sleep and wakes the ones that entered it
+	 * @param left
+	 * @param right
+	 * @param clock
+	 */
+	public void update (float left, float right, float clock)
+	{
+		//Sleep
+		for (int i = active.size - 1; i >= 0; i--)
+		{
+			T object = active.get(i);
+			if (!overlaps(object, left, right))
+				object.sleep(clock);
+		}
+		//Collect the objects inside the region, waking the dormant ones
+		active.clear();
+		woken.clear();
+		for (int i = lowerBound(left - maxWidth); i < sorted.size; i++)
+		{
+			T object = sorted.get(i);
+			if (object.getSpanLeft() > right)
+				break;
+			if (!overlaps(object, left, right))
+				continue;
+			if (object.dormant)
+			{
+				object.wake(clock);
+				woken.add(object);
+			}
+			active.add(object);
+		}
+	}
+
+	/**
+	 * Collect method
+	 * Finds the objects whose span overlaps the range with a binary search, awake or not
+	 * @param left
+	 * @param right
+	 * @param out cleared and filled with the objects, sorted by the left end of their span
+	 */
+	public void collect (float left, float right, Array<T> out)
+	{
+		out.clear();
+		for (int i = lowerBound(left - maxWidth); i < sorted.size; i++)
+		{
+			T object = sorted.get(i);
+			if (object.getSpanLeft() > right)
+				break;
+			if (overlaps(object, left, right))
+				out.add(object);
+		}
+	}
+
+	/**
+	 * GetActive method
+	 * @return awake objects, sorted by the left end of their span
+	 */
+	public Array<T> getActive ()
+	{
+		return active;
+	}
+
+	/**
+	 * GetWoken method
+	 * @return objects woken by the last update, for state kept outside the objects
+	 */
+	public Array<T> getWoken ()
+	{
+		return woken;
+	}
+
+	/**
+	 * Size method
+	 * @return number of awake and dormant objects
+	 */
+	public int size ()
+	{
+		return sorted.size;
+	}
+
+	/**
+	 * Overlaps method
+	 * @param object
+	 * @param left
+	 * @param right
+	 * @return
+	 */
+	private static boolean overlaps (AbstractGameObject object, float left, float right)
+	{
+		return object.getSpanLeft() <= right && object.getSpanRight() >= left;
+	}
+
+	/**
+	 * LowerBound method
+	 * @param x
+	 * @return index of the first object whose span starts at or right of x
+	 */
+	private int lowerBound (float x)
+	{
+		int low = 0;
+		int high = sorted.size;
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if (sorted.get(mid).getSpanLeft() < x)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+}
@@ -0,0 +1,160 @@
+package com.brooks.gdx.game.util;
+
+/**
+ * Debug counter of the game objects and pooled objects created on the game thread.
+ * Game object constructors and pool misses report here; the controller reads the counts once per frame and logs
+ * what the frames of an interval created, so once the pools are warm an interval that creates anything shows up in
+ * the log. Objects created on other threads, like the levels staged by the LevelPreloader, aren't counted.
+ */
+public class AllocationCounter
+{
+	//Declare variables
+	private static Thread gameThread;
+	private static int gameObjects;
+	private static int pooledObjects;
+	//Totals at the end of the last frame
+	private int lastGameObjects;
+	private int lastPooledObjects;
+	private int frameGameObjects;
+	private int framePooledObjects;
+	private int framesWithAllocations;
+	//Sums over the frames since the last endInterval()
+	private int intervalGameObjects;
+	private int intervalPooledObjects;
+	private int intervalFrames;
+	private int lastIntervalGameObjects;
+	private int lastIntervalPooledObjects;
+	private int lastIntervalFrames;
+
+	/**
+	 * AllocationCounter method
+	 * Counts from now on, on the calling thread
+	 */
+	public AllocationCounter ()
+	{
+		gameThread = Thread.currentThread();
+		lastGameObjects = gameObjects;
+		lastPooledObjects = pooledObjects;
+	}
+
+	/**
+	 * GameObjectCreated method
+	 * Called by every game object constructor
+	 */
+	public static void gameObjectCreated ()
+	{
+		if (Thread.currentThread() == gameThread)
+			gameObjects++;
+	}
+
+	/**
+	 * PooledObjectCreated method
+	 * Called when a pool is empty and has to create a new object
+	 */
+	public static void pooledObjectCreated ()
+	{
+		if (Thread.currentThread() == gameThread)
+			pooledObjects++;
+	}
+
+	/**
+	 * EndFrame method
+	 * @return whether anything was created since the last call
+	 */
+	public boolean endFrame ()
+	{
+		frameGameObjects = gameObjects - lastGameObjects;
+		framePooledObjects = pooledObjects - lastPooledObjects;
+		lastGameObjects = gameObjects;
+		lastPooledObjects = pooledObjects;
+		if (frameGameObjects == 0 && framePooledObjects == 0)
+			return false;
+		framesWithAllocations++;
+		intervalGameObjects += frameGameObjects;
+		intervalPooledObjects += framePooledObjects;
+		intervalFrames++;
+		return true;
+	}
+
+	/**
+	 * EndInterval method
+	 * The interval sums stay readable until the next call
+	 * @return whether a frame since the last call created anything
+	 */
+	public boolean endInterval ()
+	{
+		boolean allocated = intervalFrames > 0;
+		if (!allocated)
+			return false;
+		lastIntervalGameObjects = intervalGameObjects;
+		lastIntervalPooledObjects = intervalPooledObjects;
+		lastIntervalFrames = intervalFrames;
+		intervalGameObjects = 0;
+		intervalPooledObjects = 0;
+		intervalFrames = 0;
+		return true;
+	}
+
+	/**
+	 * GetIntervalGameObjects method
+	 * @return game objects created in the last interval with allocations
+	 */
+	public int getIntervalGameObjects ()
+	{
+		return lastIntervalGameObjects;
+	}
+
+	/**
+	 * GetIntervalPooledObjects method
+	 * @return objects the pools had to create in the last interval with allocations
+	 */
+	public int getIntervalPooledObjects ()
+	{
+		return lastIntervalPooledObjects;
+	}
+
+	/**
+	 * GetIntervalFrames method
+	 * @return frames of the last interval with allocations that created anything
+	 */
+	public int getIntervalFrames ()
+	{
+		return lastIntervalFrames;
+	}
+
+	/**
+	 * GetFrameGameObjects method
+	 * @return game objects created in the last frame
+	 */
+	public int getFrameGameObjects ()
+	{
+		return frameGameObjects;
+	}
+
+	/**
+	 * GetFramePooledObjects method
+	 * @return objects the pools had to create in the last frame
+	 */
+	public int getFramePooledObjects ()
+	{
+		return framePooledObjects;
+	}
+
+	/**
+	 * GetFramesWithAllocations method
+	 * @return
+	 */
+	public int getFramesWithAllocations ()
+	{
+		return framesWithAllocations;
+	}
+
+	/**
+	 * GetTotalGameObjects method
+	 * @return game objects created on the game thread so far
+	 */
+	public static int getTotalGameObjects ()
+	{
+		return gameObjects;
+	}
+}
@@ -0,0 +1,55 @@
+package com.brooks.gdx.game.util;
+
+import com.badlogic.gdx.utils.IntIntMap;
+
+/**
+ * Color table the level image is decoded with: the color of empty space, the block colors and which of them merge
+ * consecutive pixels into runs. The block registry fills it, the decoder needs nothing else of the registry.
+ */
+public class BlockColors
+{
+	//Declare variables
+	public static final int UNKNOWN = 0;
+	public static final int BLOCK = 1;
+	public static final int RUN = 2;
+	private final IntIntMap kinds = new IntIntMap();
+	private final int empty;
+
+	/**
+	 * BlockColors method
+	 * @param empty 32-bit RGBA value of empty space
+	 */
+	public BlockColors (int empty)
+	{
+		this.empty = empty;
+	}
+
+	/**
+	 * Put method
+	 * @param color 32-bit RGBA value
+	 * @param run whether consecutive pixels of the color in scan order form one block
+	 */
+	public void put (int color, boolean run)
+	{
+		kinds.put(color, run ? RUN : BLOCK);
+	}
+
+	/**
+	 * GetKind method
+	 * @param color
+	 * @return UNKNOWN, BLOCK or RUN
+	 */
+	public int getKind (int color)
+	{
+		return kinds.get(color, UNKNOWN);
+	}
+
+	/**
+	 * GetEmpty method
+	 * @return color of empty space
+	 */
+	public int getEmpty ()
+	{
+		return empty;
+	}
+}
@@ -18,6 +18,8 @@ public class CameraHelper
 	private float zoom;
 	private AbstractGameObject target;
 	private final float FOLLOW_SPEED = 4.0f;
+	//Where the target is drawn this frame
+	private final Vector2 targetPosition = new Vector2();
 	
 	/**
 	 * Positions the camera
@@ -30,14 +32,16 @@ public class CameraHelper
 	
 	/**
 	 * Updates based on how much game time had passed
+	 * Follows the position the target is drawn at, so the camera moves as smoothly as the interpolated sprites
 	 * @param deltaTime
+	 * @param alpha interpolation alpha of the frame, see WorldController.getInterpolationAlpha()
 	 */
-	public void update (float deltaTime)
+	public void update (float deltaTime, float alpha)
 	{
 		if (!hasTarget())
 			return;
 		
-		position.lerp(target.position, FOLLOW_SPEED * deltaTime);
+		position.lerp(target.getInterpolatedPosition(alpha, targetPosition), FOLLOW_SPEED * deltaTime);
 		
 		//Prevent camera from moving down too far
 		position.y = Math.max(-1f, position.y);
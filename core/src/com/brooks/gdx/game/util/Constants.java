@@ -17,6 +17,60 @@ public class Constants
 	public static final String TEXTURE_ATLAS_OBJECTS = "../core/assets/images/brooksgdxgame.pack.atlas";
 	//Location of image file for level 01
 	public static final String LEVEL_01 = "levels/level-01.png";
+	//Level images in the order they are played
+	public static final String[] LEVELS = { LEVEL_01 };
+	//Level images with at least this many pixels are decoded in parallel row bands
+	public static final int LEVEL_PARALLEL_DECODE_MIN_PIXELS = 256 * 1024;
+	//Smallest row band handed to a single decode task, in pixels
+	public static final int LEVEL_DECODE_BAND_PIXELS = 32 * 1024;
+	//Levels at least this many pixels wide are streamed in chunks
+	public static final int LEVEL_CHUNKED_MIN_WIDTH = 512;
+	//Width of a level chunk in pixels (world units)
+	public static final int LEVEL_CHUNK_WIDTH = 32;
+	//Number of chunks kept loaded on each side of the camera's chunk
+	public static final int LEVEL_CHUNK_LOAD_RADIUS = 2;
+	//Box2D collision categories
+	public static final short CATEGORY_ROCK = 0x0001;
+	public static final short CATEGORY_BUNNY = 0x0002;
+	public static final short CATEGORY_PICKUP = 0x0004;
+	public static final short CATEGORY_GOAL = 0x0008;
+	public static final short CATEGORY_CARROT = 0x0010;
+	//Height of the goal sensor above the goal in world units
+	public static final float GOAL_SENSOR_HEIGHT = 100.0f;
+	//Cell size of the collision grid in world units
+	public static final float COLLISION_GRID_CELL_SIZE = 1.0f;
+	//Simulation ticks per second
+	public static final int SIMULATION_TICK_RATE = 60;
+	//Most ticks simulated in one frame, the rest of a long frame is dropped
+	public static final int SIMULATION_MAX_STEPS_PER_FRAME = 5;
+	//Height and duration of the bob of floating rocks
+	public static final float ROCK_FLOAT_AMPLITUDE = 0.1f;
+	public static final float ROCK_FLOAT_PERIOD = 4.0f;
+	//Distance and duration of one leg of horizontally moving rocks
+	public static final float ROCK_MOVE_DISTANCE = 3.0f;
+	public static final float ROCK_MOVE_LEG_DURATION = 3.0f;
+	//Size of the loop of looping rocks and time from one corner to the next
+	public static final float ROCK_LOOP_WIDTH = 2.0f;
+	public static final float ROCK_LOOP_HEIGHT = 1.5f;
+	public static final float ROCK_LOOP_SPAN_DURATION = 1.5f;
+	//Physics time per frame the solver settings are adjusted to stay under, in milliseconds
+	public static final float PHYSICS_BUDGET_MILLIS = 2.0f;
+	//Bounds of the solver settings
+	public static final int PHYSICS_VELOCITY_ITERATIONS_MIN = 4;
+	public static final int PHYSICS_VELOCITY_ITERATIONS_MAX = 10;
+	public static final int PHYSICS_POSITION_ITERATIONS_MIN = 2;
+	public static final int PHYSICS_POSITION_ITERATIONS_MAX = 4;
+	public static final int PHYSICS_SUB_STEPS_MAX = 2;
+	//Objects are drawn while they are less than this outside the view
+	public static final float VIEW_CULL_MARGIN = 1.0f;
+	//Local file the render stats are logged to
+	public static final String RENDER_STATS_LOG = "render_stats.csv";
+	//Seconds between two logs of the system profile
+	public static final float SYSTEM_PROFILE_LOG_INTERVAL = 2.0f;
+	//Seconds over which the objects created on the game thread are summed up for the log
+	public static final float ALLOCATION_LOG_INTERVAL = 1.0f;
+	//Objects farther than this from the camera horizontally are dormant
+	public static final float LEVEL_ACTIVE_HALF_WIDTH = 12.0f;
 	//Amount of extra lives at level start
 	public static final int LIVES_START = 3;
 	//Duration of feather power-up in seconds
@@ -36,12 +90,23 @@ public class Constants
 	public static final int CARROTS_SPAWN_MAX = 100;
 	//Spawn radius for carrots
 	public static final float CARROTS_SPAWN_RADIUS = 3.5f;
+	//Carrots slower than this count as resting
+	public static final float CARROTS_REST_SPEED = 0.05f;
+	//Seconds a carrot may rest before it is retired
+	public static final float CARROTS_REST_TIMEOUT = 4.0f;
+	//Carrots farther than this from the camera, or below the water, are retired
+	public static final float CARROTS_RETIRE_DISTANCE = 10.0f;
+	public static final float CARROTS_RETIRE_MIN_Y = -5.0f;
 	//Delay after game finished
 	public static final float TIME_DELAY_GAME_FINISHED = 6;
 	
 	//Shaders
-	public static final String shaderMonochromeVertex = "shaders/monochrome.vs";
+	//Vertex shader of all post-processing passes
+	public static final String shaderPostVertex = "shaders/post.vs";
 	public static final String shaderMonochromeFragment = "shaders/monochrome.fs";
+	//Location of the shader that moves the baked rocks
+	public static final String shaderRockVertex = "shaders/rock.vs";
+	public static final String shaderRockFragment = "shaders/rock.fs";
 	
 	//Angle of rotation for dead zone (no movement)
 	public static final float ACCEL_ANGLE_DEAD_ZONE = 5.0f;
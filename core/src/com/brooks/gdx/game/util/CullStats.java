@@ -0,0 +1,50 @@
+package com.brooks.gdx.game.util;
+
+/**
+ * Numbers of objects drawn and culled in the last frame
+ */
+public class CullStats
+{
+	//Declare variables
+	private int drawn;
+	private int culled;
+
+	/**
+	 * Reset method
+	 * Called at the start of each frame
+	 */
+	public void reset ()
+	{
+		drawn = 0;
+		culled = 0;
+	}
+
+	/**
+	 * Add method
+	 * @param drawn
+	 * @param culled
+	 */
+	public void add (int drawn, int culled)
+	{
+		this.drawn += drawn;
+		this.culled += culled;
+	}
+
+	/**
+	 * GetDrawn method
+	 * @return
+	 */
+	public int getDrawn ()
+	{
+		return drawn;
+	}
+
+	/**
+	 * GetCulled method
+	 * @return
+	 */
+	public int getCulled ()
+	{
+		return culled;
+	}
+}
@@ -0,0 +1,237 @@
+package com.brooks.gdx.game.util;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.objects.BunnyHead;
+import com.brooks.gdx.game.objects.Feather;
+import com.brooks.gdx.game.objects.Goal;
+import com.brooks.gdx.game.objects.GoldCoin;
+import com.brooks.gdx.game.objects.Rock;
+
+/**
+ * Pools for the game objects the block factories create and for the temporary math and Box2D definition objects.
+ * Objects are reset when they are freed. The pools are synchronized on the GamePools instance, one lock for
+ * obtain(), free() and dispose(), because levels are also built on the LevelPreloader thread; the lock is never
+ * contended on the game thread. The pools live as long as the game, the game disposes them when it exits.
+ * The decoration objects (clouds, mountains, water) are built once per level and aren't pooled.
+ */
+public class GamePools implements Disposable
+{
+	//Declare variables
+	public static final String TAG = GamePools.class.getName();
+	public static final GamePools instance = new GamePools();
+	public final Pool<Rock> rocks = new CountingPool<Rock>()
+	{
+		@Override
+		protected Rock create ()
+		{
+			return new Rock();
+		}
+	};
+	public final Pool<GoldCoin> goldCoins = new CountingPool<GoldCoin>()
+	{
+		@Override
+		protected GoldCoin create ()
+		{
+			return new GoldCoin();
+		}
+	};
+	public final Pool<Feather> feathers = new CountingPool<Feather>()
+	{
+		@Override
+		protected Feather create ()
+		{
+			return new Feather();
+		}
+	};
+	public final Pool<Goal> goals = new CountingPool<Goal>()
+	{
+		@Override
+		protected Goal create ()
+		{
+			return new Goal();
+		}
+	};
+	public final Pool<BunnyHead> bunnyHeads = new CountingPool<BunnyHead>()
+	{
+		@Override
+		protected BunnyHead create ()
+		{
+			return new BunnyHead();
+		}
+	};
+	public final Pool<Vector2> vectors = new CountingPool<Vector2>()
+	{
+		@Override
+		protected Vector2 create ()
+		{
+			return new Vector2();
+		}
+
+		@Override
+		protected void reset (Vector2 vector)
+		{
+			vector.setZero();
+		}
+	};
+	public final Pool<Rectangle> rectangles = new CountingPool<Rectangle>()
+	{
+		@Override
+		protected Rectangle create ()
+		{
+			return new Rectangle();
+		}
+
+		@Override
+		protected void reset (Rectangle rectangle)
+		{
+			rectangle.set(0, 0, 0, 0);
+		}
+	};
+	public final Pool<BodyDef> bodyDefs = new CountingPool<BodyDef>()
+	{
+		@Override
+		protected BodyDef create ()
+		{
+			return new BodyDef();
+		}
+
+		@Override
+		protected void reset (BodyDef bodyDef)
+		{
+			//Defaults of a new BodyDef
+			bodyDef.type = BodyType.StaticBody;
+			bodyDef.position.setZero();
+			bodyDef.angle = 0;
+			bodyDef.linearVelocity.setZero();
+			bodyDef.angularVelocity = 0;
+			bodyDef.linearDamping = 0;
+			bodyDef.angularDamping = 0;
+			bodyDef.allowSleep = true;
+			bodyDef.awake = true;
+			bodyDef.fixedRotation = false;
+			bodyDef.bullet = false;
+			bodyDef.active = true;
+			bodyDef.gravityScale = 1;
+		}
+	};
+	public final Pool<FixtureDef> fixtureDefs = new CountingPool<FixtureDef>()
+	{
+		@Override
+		protected FixtureDef create ()
+		{
+			return new FixtureDef();
+		}
+
+		@Override
+		protected void reset (FixtureDef fixtureDef)
+		{
+			//Defaults of a new FixtureDef
+			fixtureDef.shape = null;
+			fixtureDef.friction = 0.2f;
+			fixtureDef.restitution = 0;
+			fixtureDef.density = 0;
+			fixtureDef.isSensor = false;
+			fixtureDef.filter.categoryBits = 0x0001;
+			fixtureDef.filter.maskBits = -1;
+			fixtureDef.filter.groupIndex = 0;
+		}
+	};
+	//Box2D copies the shape into the fixture, so a shape can be freed right after createFixture()
+	public final Pool<PolygonShape> polygonShapes = new CountingPool<PolygonShape>()
+	{
+		@Override
+		protected PolygonShape create ()
+		{
+			PolygonShape shape = new PolygonShape();
+			createdShapes.add(shape);
+			return shape;
+		}
+	};
+	//Every shape the pool created, they own native memory
+	private final Array<PolygonShape> createdShapes = new Array<PolygonShape>();
+
+	/**
+	 * Pool that reports its misses to the AllocationCounter
+	 */
+	private abstract class CountingPool<T> extends Pool<T>
+	{
+		/**
+		 * Create method
+		 * @return new object
+		 */
+		protected abstract T create ();
+
+		@Override
+		protected final T newObject ()
+		{
+			AllocationCounter.pooledObjectCreated();
+			return create();
+		}
+
+		@Override
+		public T obtain ()
+		{
+			synchronized (GamePools.this)
+			{
+				return super.obtain();
+			}
+		}
+
+		@Override
+		public void free (T object)
+		{
+			synchronized (GamePools.this)
+			{
+				super.free(object);
+			}
+		}
+	}
+
+	/**
+	 * GamePools method
+	 */
+	private GamePools ()
+	{
+	}
+
+	/**
+	 * Free method
+	 * Returns a game object created by one of the pools
+	 * @param object
+	 */
+	public void free (AbstractGameObject object)
+	{
+		if (object instanceof Rock)
+			rocks.free((Rock)object);
+		else if (object instanceof GoldCoin)
+			goldCoins.free((GoldCoin)object);
+		else if (object instanceof Feather)
+			feathers.free((Feather)object);
+		else if (object instanceof Goal)
+			goals.free((Goal)object);
+		else if (object instanceof BunnyHead)
+			bunnyHeads.free((BunnyHead)object);
+	}
+
+	/**
+	 * Dispose method
+	 * Frees the native memory of the pooled shapes, they must not be in use anymore
+	 */
+	@Override
+	public synchronized void dispose ()
+	{
+		polygonShapes.clear();
+		for (PolygonShape shape : createdShapes)
+			shape.dispose();
+		createdShapes.clear();
+	}
+}
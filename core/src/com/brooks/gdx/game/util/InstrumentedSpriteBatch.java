@@ -0,0 +1,162 @@
+package com.brooks.gdx.game.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * SpriteBatch that counts its texture switches, shader switches and flushes by reason.
+ * The counters only grow, RenderStats takes the difference over a pass. A flush that sends nothing to the GPU
+ * (an empty batch) isn't counted.
+ */
+public class InstrumentedSpriteBatch extends SpriteBatch
+{
+	/**
+	 * What made the batch send its sprites to the GPU
+	 */
+	public enum FLUSH_REASON
+	{
+		TEXTURE, SHADER, BLEND, MATRIX, END, BUFFER_FULL
+	}
+
+	//Declare variables
+	private final int[] flushes = new int[FLUSH_REASON.values().length];
+	private int textureSwitches;
+	private int shaderSwitches;
+	//Reason for the next flush, null while drawing: the buffer ran full or flush() was called from outside
+	private FLUSH_REASON reason;
+
+	/**
+	 * GetFlushes method
+	 * @param reason
+	 * @return number of flushes for the reason so far
+	 */
+	public int getFlushes (FLUSH_REASON reason)
+	{
+		return flushes[reason.ordinal()];
+	}
+
+	/**
+	 * GetTextureSwitches method
+	 * @return
+	 */
+	public int getTextureSwitches ()
+	{
+		return textureSwitches;
+	}
+
+	/**
+	 * GetShaderSwitches method
+	 * @return
+	 */
+	public int getShaderSwitches ()
+	{
+		return shaderSwitches;
+	}
+
+	/**
+	 * Flush method
+	 */
+	@Override
+	public void flush ()
+	{
+		int renderCalls = this.renderCalls;
+		super.flush();
+		if (this.renderCalls != renderCalls)
+			flushes[(reason == null ? FLUSH_REASON.BUFFER_FULL : reason).ordinal()]++;
+	}
+
+	/**
+	 * End method
+	 */
+	@Override
+	public void end ()
+	{
+		reason = FLUSH_REASON.END;
+		super.end();
+		reason = null;
+	}
+
+	/**
+	 * SwitchTexture method
+	 */
+	@Override
+	protected void switchTexture (Texture texture)
+	{
+		textureSwitches++;
+		reason = FLUSH_REASON.TEXTURE;
+		super.switchTexture(texture);
+		reason = null;
+	}
+
+	/**
+	 * SetShader method
+	 */
+	@Override
+	public void setShader (ShaderProgram shader)
+	{
+		//Null means the batch's own shader, compare the shader actually used
+		ShaderProgram previous = getShader();
+		reason = FLUSH_REASON.SHADER;
+		super.setShader(shader);
+		reason = null;
+		if (getShader() != previous)
+			shaderSwitches++;
+	}
+
+	/**
+	 * SetBlendFunction method
+	 */
+	@Override
+	public void setBlendFunction (int srcFunc, int dstFunc)
+	{
+		reason = FLUSH_REASON.BLEND;
+		super.setBlendFunction(srcFunc, dstFunc);
+		reason = null;
+	}
+
+	/**
+	 * EnableBlending method
+	 */
+	@Override
+	public void enableBlending ()
+	{
+		reason = FLUSH_REASON.BLEND;
+		super.enableBlending();
+		reason = null;
+	}
+
+	/**
+	 * DisableBlending method
+	 */
+	@Override
+	public void disableBlending ()
+	{
+		reason = FLUSH_REASON.BLEND;
+		super.disableBlending();
+		reason = null;
+	}
+
+	/**
+	 * SetProjectionMatrix method
+	 */
+	@Override
+	public void setProjectionMatrix (Matrix4 projection)
+	{
+		reason = FLUSH_REASON.MATRIX;
+		super.setProjectionMatrix(projection);
+		reason = null;
+	}
+
+	/**
+	 * SetTransformMatrix method
+	 */
+	@Override
+	public void setTransformMatrix (Matrix4 transform)
+	{
+		reason = FLUSH_REASON.MATRIX;
+		super.setTransformMatrix(transform);
+		reason = null;
+	}
+}
@@ -0,0 +1,476 @@
+package com.brooks.gdx.game.util;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+
+/**
+ * Items that don't move (coins, feathers), with their per-frame data kept as primitive columns sorted by x:
+ * position, size, animation time and live/awake flags. The items around the camera and the items in view are
+ * index ranges found with a binary search, so waking, updating and drawing are linear passes over those ranges
+ * without visiting the objects. Collected items stay in place with their live flag cleared.
+ * The objects stay the handles for the Box2D sensors, streaming and snapshots; their stateTime is not updated,
+ * the column holds the animation time. Only objects that change their awake state are touched, to switch their bodies.
+ * Rocks aren't kept here: they move along their paths and carry kinematic bodies, the RockMesh bakes their draw data.
+ */
+public class ItemStore<T extends AbstractGameObject>
+{
+	//Declare variables
+	private final Array<T> items = new Array<T>();
+	private float[] x = new float[16];
+	private float[] y = new float[16];
+	private float[] width = new float[16];
+	private float[] height = new float[16];
+	private float[] stateTime = new float[16];
+	//Not collected
+	private boolean[] live = new boolean[16];
+	//Live and inside the active region of the last updateActivity()
+	private boolean[] awake = new boolean[16];
+	private int liveCount;
+	//Widest item, items starting this far left of a range may still reach into it
+	private float maxWidth;
+	//Items were added out of x order since the last sort
+	private boolean sorted = true;
+	//Index range awake after the last updateActivity(), the whole store after indexes changed
+	private int awakeFirst;
+	private int awakeEnd;
+	//Sort scratch
+	private long[] keys = new long[0];
+	private float[] floatScratch = new float[0];
+	private boolean[] booleanScratch = new boolean[0];
+	private Object[] objectScratch = new Object[0];
+
+	/**
+	 * Add method
+	 * Copies position, size and animation time of the object into the columns. A live item starts asleep,
+	 * the next updateActivity() wakes it if it is inside the active region.
+	 * @param object
+	 * @param live false for items collected before
+	 * @param clock level time
+	 */
+	public void add (T object, boolean live, float clock)
+	{
+		int index = items.size;
+		if (index == x.length)
+		{
+			int capacity = index * 2;
+			x = copyOf(x, capacity);
+			y = copyOf(y, capacity);
+			width = copyOf(width, capacity);
+			height = copyOf(height, capacity);
+			stateTime = copyOf(stateTime, capacity);
+			this.live = copyOf(this.live, capacity);
+			awake = copyOf(awake, capacity);
+		}
+		if (index > 0 && object.position.x < x[index - 1])
+			sorted = false;
+		x[index] = object.position.x;
+		y[index] = object.position.y;
+		width[index] = object.dimension.x;
+		height[index] = object.dimension.y;
+		stateTime[index] = object.stateTime;
+		this.live[index] = live;
+		awake[index] = false;
+		maxWidth = Math.max(maxWidth, object.dimension.x);
+		items.add(object);
+		object.slot = index;
+		if (live)
+		{
+			liveCount++;
+			object.sleep(clock);
+		}
+		awakeFirst = 0;
+		awakeEnd = items.size;
+	}
+
+	/**
+	 * Remove method
+	 * Keeps the x order by moving the items behind it
+	 * @param object
+	 */
+	public void remove (T object)
+	{
+		int index = object.slot;
+		int moved = items.size - index - 1;
+		if (live[index])
+			liveCount--;
+		shift(x, index, moved);
+		shift(y, index, moved);
+		shift(width, index, moved);
+		shift(height, index, moved);
+		shift(stateTime, index, moved);
+		System.arraycopy(live, index + 1, live, index, moved);
+		System.arraycopy(awake, index + 1, awake, index, moved);
+		items.removeIndex(index);
+		for (int i = index; i < items.size; i++)
+			items.get(i).slot = i;
+		object.slot = -1;
+		awakeFirst = 0;
+		awakeEnd = items.size;
+	}
+
+	/**
+	 * Deactivate method
+	 * Marks the item as collected, it isn't woken, updated or drawn anymore
+	 * @param object
+	 */
+	public void deactivate (T object)
+	{
+		int index = object.slot;
+		if (!live[index])
+			return;
+		live[index] = false;
+		awake[index] = false;
+		liveCount--;
+	}
+
+	/**
+	 * ActivateAll method
+	 * Marks every item as not collected, resetActivity() puts them to sleep
+	 */
+	public void activateAll ()
+	{
+		Arrays.fill(live, 0, items.size, true);
+		liveCount = items.size;
+	}
+
+	/**
+	 * UpdateActivity method
+	 * Wakes the live items inside the region and puts the ones that left it to sleep.
+	 * Only the union of the last and the new awake range is scanned.
+	 * @param left
+	 * @param right
+	 * @param clock level time
+	 */
+	public void updateActivity (float left, float right, float clock)
+	{
+		sort();
+		int first = findFirst(left);
+		int end = findEnd(right);
+		boolean[] live = this.live;
+		boolean[] awake = this.awake;
+		for (int i = Math.min(first, awakeFirst), n = Math.max(end, awakeEnd); i < n; i++)
+		{
+			boolean inside = live[i] && i >= first && i < end && x[i] + width[i] >= left;
+			if (inside == awake[i])
+				continue;
+			awake[i] = inside;
+			T item = items.get(i);
+			if (inside)
+			{
+				//Catch up the animation time of the dormant item
+				stateTime[i] += clock - item.getSleepTime();
+				item.wake(clock);
+			}
+			else
+				item.sleep(clock);
+		}
+		awakeFirst = first;
+		awakeEnd = end;
+	}
+
+	/**
+	 * ResetActivity method
+	 * Puts all live items to sleep, the next updateActivity() wakes the ones around the camera
+	 * @param clock level time
+	 */
+	public void resetActivity (float clock)
+	{
+		for (int i = 0; i < items.size; i++)
+		{
+			awake[i] = false;
+			if (live[i])
+				items.get(i).sleep(clock);
+		}
+		awakeFirst = 0;
+		awakeEnd = items.size;
+	}
+
+	/**
+	 * Update method
+	 * Advances the animation time of the awake items
+	 * @param deltaTime
+	 */
+	public void update (float deltaTime)
+	{
+		boolean[] awake = this.awake;
+		float[] stateTime = this.stateTime;
+		for (int i = awakeFirst, n = awakeEnd; i < n; i++)
+		{
+			if (awake[i])
+				stateTime[i] += deltaTime;
+		}
+	}
+
+	/**
+	 * Render method
+	 * Draws the live items in the window with the key frame of their animation time
+	 * @param batch
+	 * @param animation
+	 * @param left
+	 * @param bottom
+	 * @param right
+	 * @param top
+	 * @return number of items drawn
+	 */
+	public int render (SpriteBatch batch, Animation animation, float left, float bottom, float right, float top)
+	{
+		sort();
+		int drawn = 0;
+		for (int i = findFirst(left), n = findEnd(right); i < n; i++)
+		{
+			if (!isVisible(i, left, bottom, top))
+				continue;
+			batch.draw(animation.getKeyFrame(stateTime[i], true), x[i], y[i], width[i], height[i]);
+			drawn++;
+		}
+		return drawn;
+	}
+
+	/**
+	 * Render method
+	 * Draws the live items in the window with the same region
+	 * @param batch
+	 * @param region
+	 * @param left
+	 * @param bottom
+	 * @param right
+	 * @param top
+	 * @return number of items drawn
+	 */
+	public int render (SpriteBatch batch, TextureRegion region, float left, float bottom, float right, float top)
+	{
+		sort();
+		int drawn = 0;
+		for (int i = findFirst(left), n = findEnd(right); i < n; i++)
+		{
+			if (!isVisible(i, left, bottom, top))
+				continue;
+			batch.draw(region, x[i], y[i], width[i], height[i]);
+			drawn++;
+		}
+		return drawn;
+	}
+
+	/**
+	 * IsVisible method
+	 * @param index between findFirst() and findEnd() of the window
+	 * @param left
+	 * @param bottom
+	 * @param top
+	 * @return whether the item is live and overlaps the window
+	 */
+	public boolean isVisible (int index, float left, float bottom, float top)
+	{
+		return live[index] && x[index] + width[index] >= left && y[index] <= top && y[index] + height[index] >= bottom;
+	}
+
+	/**
+	 * FindFirst method
+	 * @param left
+	 * @return index of the first item that may reach right of left
+	 */
+	public int findFirst (float left)
+	{
+		return lowerBound(left - maxWidth);
+	}
+
+	/**
+	 * FindEnd method
+	 * @param right
+	 * @return index behind the last item that starts at or left of right
+	 */
+	public int findEnd (float right)
+	{
+		int low = 0;
+		int high = items.size;
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if (x[mid] <= right)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	private int lowerBound (float value)
+	{
+		int low = 0;
+		int high = items.size;
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if (x[mid] < value)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	/**
+	 * Get method
+	 * @param index items are sorted by x once updateActivity() or render() ran
+	 * @return
+	 */
+	public T get (int index)
+	{
+		return items.get(index);
+	}
+
+	/**
+	 * Size method
+	 * @return number of live and collected items
+	 */
+	public int size ()
+	{
+		return items.size;
+	}
+
+	/**
+	 * GetLiveCount method
+	 * @return number of items not collected
+	 */
+	public int getLiveCount ()
+	{
+		return liveCount;
+	}
+
+	/**
+	 * Clear method
+	 */
+	public void clear ()
+	{
+		for (int i = 0; i < items.size; i++)
+			items.get(i).slot = -1;
+		items.clear();
+		liveCount = 0;
+		maxWidth = 0;
+		sorted = true;
+		awakeFirst = 0;
+		awakeEnd = 0;
+	}
+
+	/**
+	 * GetStateTime method
+	 * @param index
+	 * @return
+	 */
+	public float getStateTime (int index)
+	{
+		return stateTime[index];
+	}
+
+	/**
+	 * GetStateTime method
+	 * @param object
+	 * @return animation time of the item
+	 */
+	public float getStateTime (T object)
+	{
+		return stateTime[object.slot];
+	}
+
+	/**
+	 * SetStateTime method
+	 * @param object
+	 * @param time
+	 */
+	public void setStateTime (T object, float time)
+	{
+		stateTime[object.slot] = time;
+	}
+
+	/**
+	 * Sort method
+	 * Brings the columns back into x order after items were added out of order, for example by the level loader
+	 */
+	private void sort ()
+	{
+		if (sorted)
+			return;
+		sorted = true;
+		int n = items.size;
+		if (keys.length < n)
+		{
+			keys = new long[x.length];
+			floatScratch = new float[x.length];
+			booleanScratch = new boolean[x.length];
+			objectScratch = new Object[x.length];
+		}
+		//x in the high half (as an int that sorts like the float), the index in the low half
+		for (int i = 0; i < n; i++)
+		{
+			int bits = Float.floatToIntBits(x[i]);
+			keys[i] = (long)(bits ^ ((bits >> 31) & 0x7fffffff)) << 32 | i;
+		}
+		Arrays.sort(keys, 0, n);
+		x = permute(x, n);
+		y = permute(y, n);
+		width = permute(width, n);
+		height = permute(height, n);
+		stateTime = permute(stateTime, n);
+		live = permute(live, n);
+		awake = permute(awake, n);
+		Object[] objects = items.items;
+		for (int i = 0; i < n; i++)
+			objectScratch[i] = objects[(int)keys[i]];
+		for (int i = 0; i < n; i++)
+		{
+			objects[i] = objectScratch[i];
+			objectScratch[i] = null;
+			items.get(i).slot = i;
+		}
+		awakeFirst = 0;
+		awakeEnd = n;
+	}
+
+	/**
+	 * Permute method
+	 * @param column
+	 * @param n
+	 * @return the column in key order, the old column becomes the scratch
+	 */
+	private float[] permute (float[] column, int n)
+	{
+		float[] result = floatScratch.length == column.length ? floatScratch : new float[column.length];
+		for (int i = 0; i < n; i++)
+			result[i] = column[(int)keys[i]];
+		floatScratch = column;
+		return result;
+	}
+
+	private boolean[] permute (boolean[] column, int n)
+	{
+		boolean[] result = booleanScratch.length == column.length ? booleanScratch : new boolean[column.length];
+		for (int i = 0; i < n; i++)
+			result[i] = column[(int)keys[i]];
+		booleanScratch = column;
+		return result;
+	}
+
+	private static void shift (float[] column, int index, int moved)
+	{
+		System.arraycopy(column, index + 1, column, index, moved);
+	}
+
+	private static float[] copyOf (float[] column, int capacity)
+	{
+		float[] copy = new float[capacity];
+		System.arraycopy(column, 0, copy, 0, column.length);
+		return copy;
+	}
+
+	private static boolean[] copyOf (boolean[] column, int capacity)
+	{
+		boolean[] copy = new boolean[capacity];
+		System.arraycopy(column, 0, copy, 0, column.length);
+		return copy;
+	}
+}
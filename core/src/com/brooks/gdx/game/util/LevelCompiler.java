@@ -0,0 +1,242 @@
+package com.brooks.gdx.game.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Compiles level images into a compact binary file and loads them back through a memory-mapped buffer.
+ *
+ * File layout (big endian):
+ * header: magic, version, CRC32 of the source image bytes, width, height
+ * The checksum decides whether the file is stale; length and modification time of the image aren't usable for that,
+ * they are zero for classpath and jar resources and a checkout changes the time. Only the offline compiler checks it
+ * (see isStale()), loading trusts the compiled file so it never reads the image.
+ * tables: table count, then per block color: color, entry count, entries (x, y, length)
+ */
+public class LevelCompiler
+{
+	//Declare variables
+	public static final String TAG = LevelCompiler.class.getName();
+	public static final String EXTENSION = ".lvl";
+	private static final int MAGIC = 0x43424c56; //"CBLV"
+	private static final int VERSION = 3;
+	private static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 4;
+
+	/**
+	 * Singleton: prevent instantiation from other classes
+	 */
+	private LevelCompiler ()
+	{
+	}
+
+	/**
+	 * GetCompiledFile method
+	 * @param source
+	 * @return
+	 */
+	public static FileHandle getCompiledFile (FileHandle source)
+	{
+		return source.sibling(source.nameWithoutExtension() + EXTENSION);
+	}
+
+	/**
+	 * Compile method
+	 * Decodes the level image and writes the compiled file next to it
+	 * @param source
+	 * @param colors
+	 * @return
+	 */
+	public static FileHandle compile (FileHandle source, BlockColors colors)
+	{
+		byte[] bytes = source.readBytes();
+		Pixmap pixmap = new Pixmap(bytes, 0, bytes.length);
+		LevelData data;
+		try
+		{
+			data = ParallelLevelDecoder.decodeLevel(pixmap, colors);
+		}
+		finally
+		{
+			pixmap.dispose();
+		}
+		FileHandle target = getCompiledFile(source);
+		target.writeBytes(write(data, checksum(bytes)), false);
+		return target;
+	}
+
+	/**
+	 * Write method
+	 * @param data
+	 * @param sourceChecksum CRC32 of the source image bytes
+	 * @return
+	 */
+	public static byte[] write (LevelData data, int sourceChecksum)
+	{
+		int size = HEADER_SIZE + 4;
+		for (int i = 0; i < data.getColorCount(); i++)
+			size += 4 + 4 + data.table(data.getColor(i)).size * 4;
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		//Header
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(sourceChecksum);
+		buffer.putInt(data.width);
+		buffer.putInt(data.height);
+		//Tables
+		buffer.putInt(data.getColorCount());
+		for (int i = 0; i < data.getColorCount(); i++)
+		{
+			int color = data.getColor(i);
+			buffer.putInt(color);
+			putTable(buffer, data.table(color));
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Load method
+	 * Maps the compiled file of the given level image
+	 * @param source
+	 * @return level data or null if the compiled file is missing or unreadable
+	 */
+	public static LevelData load (FileHandle source)
+	{
+		FileHandle compiled = getCompiledFile(source);
+		if (!compiled.exists())
+			return null;
+		ByteBuffer buffer;
+		try
+		{
+			buffer = map(compiled);
+		}
+		catch (IOException e)
+		{
+			Gdx.app.error(TAG, "Couldn't map compiled level '" + compiled.path() + "'", e);
+			return null;
+		}
+		//Check header
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+		{
+			Gdx.app.error(TAG, "Compiled level '" + compiled.path() + "' has an unknown format");
+			return null;
+		}
+		//Source checksum, see isStale()
+		buffer.getInt();
+		try
+		{
+			return read(buffer);
+		}
+		catch (RuntimeException e)
+		{
+			Gdx.app.error(TAG, "Compiled level '" + compiled.path() + "' is corrupt", e);
+			return null;
+		}
+	}
+
+	/**
+	 * IsStale method
+	 * Reads the whole image, so it is meant for the offline compiler and not for loading
+	 * @param source
+	 * @return whether the compiled file is missing, of an unknown format or made from different image bytes
+	 */
+	public static boolean isStale (FileHandle source)
+	{
+		FileHandle compiled = getCompiledFile(source);
+		if (!compiled.exists() || compiled.length() < HEADER_SIZE)
+			return true;
+		ByteBuffer header = ByteBuffer.wrap(compiled.readBytes());
+		if (header.getInt() != MAGIC || header.getInt() != VERSION)
+			return true;
+		return header.getInt() != checksum(source.readBytes());
+	}
+
+	/**
+	 * Checksum method
+	 * @param bytes
+	 * @return CRC32 of the bytes
+	 */
+	public static int checksum (byte[] bytes)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, bytes.length);
+		return (int)crc.getValue();
+	}
+
+	/**
+	 * Read method
+	 * @param buffer positioned right after the header's source checksum
+	 * @return
+	 */
+	private static LevelData read (ByteBuffer buffer)
+	{
+		LevelData data = new LevelData(buffer.getInt(), buffer.getInt());
+		int tableCount = buffer.getInt();
+		for (int i = 0; i < tableCount; i++)
+			getTable(buffer, data.table(buffer.getInt()));
+		return data;
+	}
+
+	/**
+	 * Map method
+	 * Memory-maps the file if it lives on the file system, otherwise reads it into a heap buffer
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	private static ByteBuffer map (FileHandle file) throws IOException
+	{
+		File f = file.type() == FileType.Classpath ? null : file.file();
+		if (f == null || !f.exists())
+			return ByteBuffer.wrap(file.readBytes());
+		RandomAccessFile raf = new RandomAccessFile(f, "r");
+		try
+		{
+			FileChannel channel = raf.getChannel();
+			//The mapping stays valid after the channel is closed
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		finally
+		{
+			raf.close();
+		}
+	}
+
+	/**
+	 * PutTable method
+	 * @param buffer
+	 * @param table
+	 */
+	private static void putTable (ByteBuffer buffer, IntArray table)
+	{
+		buffer.putInt(table.size / LevelData.STRIDE);
+		for (int i = 0; i < table.size; i++)
+			buffer.putInt(table.items[i]);
+	}
+
+	/**
+	 * GetTable method
+	 * @param buffer
+	 * @param table
+	 */
+	private static void getTable (ByteBuffer buffer, IntArray table)
+	{
+		int stride = LevelData.STRIDE;
+		int count = buffer.getInt();
+		if (count < 0 || (long)count * stride * 4 > buffer.remaining())
+			throw new GdxRuntimeException("Corrupt compiled level table");
+		int[] items = table.ensureCapacity(count * stride);
+		for (int i = 0; i < count * stride; i++)
+			items[table.size++] = buffer.getInt();
+	}
+}
@@ -0,0 +1,264 @@
+package com.brooks.gdx.game.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Block tables of a level, decoded from the level image or read from a compiled level file.
+ * There is one table per block color; every entry is an (x, y, length) triple in pixels of the level image
+ * (y grows from top to bottom, length is 1 for single pixel blocks).
+ * Only the decoders and the level compiler fill it; everyone else gets read-only access, so a cached level can be shared.
+ */
+public class LevelData
+{
+	//Declare variables
+	public static final String TAG = LevelData.class.getName();
+	public static final int STRIDE = 3;
+	public final int width;
+	public final int height;
+	//Block tables by color
+	private final IntMap<Table> tables = new IntMap<Table>();
+	//Table colors in the order they were first seen
+	private final IntArray colors = new IntArray();
+	//Unknown colors: number of pixels and index (y * width + x) of the first pixel
+	private final IntIntMap unknownCounts = new IntIntMap();
+	private final IntIntMap unknownFirst = new IntIntMap();
+
+	/**
+	 * LevelData method
+	 * @param width
+	 * @param height
+	 */
+	public LevelData (int width, int height)
+	{
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Read-only block table of one color
+	 */
+	public static final class Table
+	{
+		final IntArray entries = new IntArray();
+
+		/**
+		 * Size method
+		 * @return number of ints in the table, STRIDE per block
+		 */
+		public int size ()
+		{
+			return entries.size;
+		}
+
+		/**
+		 * Get method
+		 * @param index
+		 * @return
+		 */
+		public int get (int index)
+		{
+			return entries.get(index);
+		}
+
+		@Override
+		public boolean equals (Object object)
+		{
+			return object instanceof Table && entries.equals(((Table)object).entries);
+		}
+
+		@Override
+		public int hashCode ()
+		{
+			return entries.hashCode();
+		}
+	}
+
+	/**
+	 * GetColorCount method
+	 * @return number of block tables
+	 */
+	public int getColorCount ()
+	{
+		return colors.size;
+	}
+
+	/**
+	 * GetColor method
+	 * @param index
+	 * @return color of the table, in the order the colors were first seen
+	 */
+	public int getColor (int index)
+	{
+		return colors.get(index);
+	}
+
+	/**
+	 * GetTable method
+	 * @param color
+	 * @return table or null if the level has no block of this color
+	 */
+	public Table getTable (int color)
+	{
+		return tables.get(color);
+	}
+
+	/**
+	 * Table method
+	 * @param color
+	 * @return entries of the color, created if missing
+	 */
+	IntArray table (int color)
+	{
+		Table table = tables.get(color);
+		if (table == null)
+		{
+			table = new Table();
+			tables.put(color, table);
+			colors.add(color);
+		}
+		return table.entries;
+	}
+
+	/**
+	 * GetCount method
+	 * @param color
+	 * @return number of blocks of the color
+	 */
+	public int getCount (int color)
+	{
+		Table table = tables.get(color);
+		return table == null ? 0 : table.size() / STRIDE;
+	}
+
+	/**
+	 * GetObjectCount method
+	 * @return
+	 */
+	public int getObjectCount ()
+	{
+		int count = 0;
+		for (int i = 0; i < colors.size; i++)
+			count += getCount(colors.get(i));
+		return count;
+	}
+
+	/**
+	 * Decode method
+	 * Scans the pixels from top-left to bottom-right. Consecutive pixels of a run block type in scan order are merged into one block.
+	 * @param pixmap
+	 * @param colors
+	 * @return
+	 */
+	public static LevelData decode (Pixmap pixmap, BlockColors colors)
+	{
+		LevelData data = new LevelData(pixmap.getWidth(), pixmap.getHeight());
+		decodeRows(pixmap, 0, pixmap.getHeight(), data, colors);
+		data.reportUnknownColors();
+		return data;
+	}
+
+	/**
+	 * DecodeRows method
+	 * Scans a band of rows into the given data. Runs are only merged within the band.
+	 * @param pixmap
+	 * @param firstRow
+	 * @param endRow exclusive
+	 * @param data
+	 * @param colors
+	 */
+	static void decodeRows (Pixmap pixmap, int firstRow, int endRow, LevelData data, BlockColors colors)
+	{
+		int empty = colors.getEmpty();
+		int width = pixmap.getWidth();
+		int lastPixel = -1;
+		for (int pixelY = firstRow; pixelY < endRow; pixelY++)
+		{
+			for (int pixelX = 0; pixelX < width; pixelX++)
+			{
+				//Get color of current pixel as 32-bit RGBA value
+				int currentPixel = pixmap.getPixel(pixelX, pixelY);
+				//Empty space
+				if (currentPixel != empty)
+				{
+					int kind = colors.getKind(currentPixel);
+					//Unknown object / pixel color
+					if (kind == BlockColors.UNKNOWN)
+					{
+						data.unknownCounts.getAndIncrement(currentPixel, 0, 1);
+						if (!data.unknownFirst.containsKey(currentPixel))
+							data.unknownFirst.put(currentPixel, pixelY * width + pixelX);
+					}
+					//Continue run
+					else if (kind == BlockColors.RUN && lastPixel == currentPixel)
+					{
+						IntArray table = data.tables.get(currentPixel).entries;
+						table.incr(table.size - 1, 1);
+					}
+					//New block
+					else
+					{
+						IntArray table = data.table(currentPixel);
+						table.add(pixelX);
+						table.add(pixelY);
+						table.add(1);
+					}
+				}
+				lastPixel = currentPixel;
+			}
+		}
+	}
+
+	/**
+	 * Append method
+	 * Appends the data of the band that follows this one in scan order
+	 * @param next
+	 * @param continueRun whether the next band starts with the continuation of this band's last run
+	 * @param runColor color of that run
+	 */
+	void append (LevelData next, boolean continueRun, int runColor)
+	{
+		for (int i = 0; i < next.colors.size; i++)
+		{
+			int color = next.colors.get(i);
+			IntArray nextTable = next.tables.get(color).entries;
+			IntArray table = table(color);
+			int from = 0;
+			if (continueRun && color == runColor && table.size > 0)
+			{
+				table.incr(table.size - 1, nextTable.get(2));
+				from = STRIDE;
+			}
+			table.addAll(nextTable, from, nextTable.size - from);
+		}
+		for (IntIntMap.Entry entry : next.unknownCounts.entries())
+		{
+			unknownCounts.getAndIncrement(entry.key, 0, entry.value);
+			if (!unknownFirst.containsKey(entry.key))
+				unknownFirst.put(entry.key, next.unknownFirst.get(entry.key, 0));
+		}
+	}
+
+	/**
+	 * ReportUnknownColors method
+	 * Logs every unknown color once, with its pixel count and first position
+	 */
+	void reportUnknownColors ()
+	{
+		if (Gdx.app == null)
+			return;
+		for (IntIntMap.Entry entry : unknownCounts.entries())
+		{
+			int color = entry.key;
+			int first = unknownFirst.get(color, 0);
+			int r = 0xff & (color >>> 24); //Red color channel
+			int g = 0xff & (color >>> 16); //Green color channel
+			int b = 0xff & (color >>> 8); //Blue color channel
+			int a = 0xff & color; //Alpha channel
+			Gdx.app.error(TAG, "Unknown object color r<" + r + "> g<" + g + "> b<" + b + "> a<" + a + "> at " + entry.value + " pixel(s), first at x<" + (first % width) + "> y<" + (first / width) + ">");
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package com.brooks.gdx.game.util;
+
+import com.badlogic.gdx.math.CatmullRomSpline;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Movement of a platform as a closed-form function of the level time: the offset from the platform's anchor
+ * can be evaluated for any time without stepping through the times before it.
+ * The path is cut into segments of equal duration. Within a segment the platform's kinematic body moves in a
+ * straight line, so its velocity only has to be set when a new segment starts (see {@link PathFollower}).
+ */
+public abstract class MotionPath
+{
+	//Declare variables
+	public final float segmentDuration;
+
+	/**
+	 * MotionPath method
+	 * @param segmentDuration
+	 */
+	protected MotionPath (float segmentDuration)
+	{
+		this.segmentDuration = segmentDuration;
+	}
+
+	/**
+	 * ValueAt method
+	 * @param time level time
+	 * @param out
+	 * @return out, set to the offset from the anchor
+	 */
+	public abstract Vector2 valueAt (float time, Vector2 out);
+
+	/**
+	 * GetMinX method
+	 * @return smallest horizontal offset the path reaches
+	 */
+	public abstract float getMinX ();
+
+	/**
+	 * GetMaxX method
+	 * @return largest horizontal offset the path reaches
+	 */
+	public abstract float getMaxX ();
+
+	/**
+	 * SegmentStart method
+	 * @param time
+	 * @return start time of the segment the time falls into
+	 */
+	public float segmentStart (float time)
+	{
+		return (float)Math.floor(time / segmentDuration) * segmentDuration;
+	}
+
+	/**
+	 * Vertical sine wave around the anchor
+	 */
+	public static class SineBob extends MotionPath
+	{
+		//Declare variables
+		//Straight pieces per period, the chord is at most amplitude * (1 - cos(PI / 16)) = 2% of the amplitude off
+		private static final int SEGMENTS_PER_PERIOD = 16;
+		private final float amplitude;
+		private final float angularSpeed;
+		private final float phase;
+
+		/**
+		 * SineBob method
+		 * @param amplitude
+		 * @param period seconds per up and down cycle
+		 * @param phase in radians
+		 */
+		public SineBob (float amplitude, float period, float phase)
+		{
+			super(period / SEGMENTS_PER_PERIOD);
+			this.amplitude = amplitude;
+			this.angularSpeed = MathUtils.PI2 / period;
+			this.phase = phase;
+		}
+
+		@Override
+		public Vector2 valueAt (float time, Vector2 out)
+		{
+			return out.set(0, amplitude * (float)Math.sin(angularSpeed * time + phase));
+		}
+
+		/**
+		 * GetAmplitude method
+		 * @return
+		 */
+		public float getAmplitude ()
+		{
+			return amplitude;
+		}
+
+		/**
+		 * GetAngularSpeed method
+		 * @return radians per second
+		 */
+		public float getAngularSpeed ()
+		{
+			return angularSpeed;
+		}
+
+		/**
+		 * GetPhase method
+		 * @return
+		 */
+		public float getPhase ()
+		{
+			return phase;
+		}
+
+		@Override
+		public float getMinX ()
+		{
+			return 0;
+		}
+
+		@Override
+		public float getMaxX ()
+		{
+			return 0;
+		}
+	}
+
+	/**
+	 * Straight line from the anchor to the anchor plus a delta and back, at constant speed
+	 */
+	public static class PingPong extends MotionPath
+	{
+		//Declare variables
+		private final Vector2 delta = new Vector2();
+		private final float legDuration;
+		private final float timeOffset;
+
+		/**
+		 * PingPong method
+		 * Each leg is one segment, so the body gets a new velocity only when it turns around
+		 * @param deltaX
+		 * @param deltaY
+		 * @param legDuration seconds from one end to the other
+		 * @param timeOffset shifts where on the path the platform is at time 0
+		 */
+		public PingPong (float deltaX, float deltaY, float legDuration, float timeOffset)
+		{
+			super(legDuration);
+			this.delta.set(deltaX, deltaY);
+			this.legDuration = legDuration;
+			this.timeOffset = timeOffset % (2 * legDuration);
+		}
+
+		@Override
+		public Vector2 valueAt (float time, Vector2 out)
+		{
+			float t = (time + timeOffset) / legDuration;
+			t -= 2 * (float)Math.floor(t / 2);
+			float progress = t <= 1 ? t : 2 - t;
+			return out.set(delta).scl(progress);
+		}
+
+		@Override
+		public float segmentStart (float time)
+		{
+			return (float)Math.floor((time + timeOffset) / legDuration) * legDuration - timeOffset;
+		}
+
+		/**
+		 * GetDelta method
+		 * @return offset of the far end from the anchor, don't modify
+		 */
+		public Vector2 getDelta ()
+		{
+			return delta;
+		}
+
+		/**
+		 * GetLegDuration method
+		 * @return
+		 */
+		public float getLegDuration ()
+		{
+			return legDuration;
+		}
+
+		/**
+		 * GetTimeOffset method
+		 * @return
+		 */
+		public float getTimeOffset ()
+		{
+			return timeOffset;
+		}
+
+		@Override
+		public float getMinX ()
+		{
+			return Math.min(0, delta.x);
+		}
+
+		@Override
+		public float getMaxX ()
+		{
+			return Math.max(0, delta.x);
+		}
+	}
+
+	/**
+	 * Closed loop through waypoints around the anchor, as a Catmull-Rom spline
+	 */
+	public static class WaypointSpline extends MotionPath
+	{
+		//Declare variables
+		private static final int SEGMENTS_PER_SPAN = 8;
+		private final CatmullRomSpline<Vector2> spline;
+		private final float loopDuration;
+		private final float minX;
+		private final float maxX;
+
+		/**
+		 * WaypointSpline method
+		 * @param waypoints offsets from the anchor, the path passes through each of them and back to the first
+		 * @param spanDuration seconds from one waypoint to the next
+		 */
+		public WaypointSpline (Vector2[] waypoints, float spanDuration)
+		{
+			super(spanDuration / SEGMENTS_PER_SPAN);
+			if (waypoints.length < 2)
+				throw new IllegalArgumentException("A spline needs at least two waypoints");
+			spline = new CatmullRomSpline<Vector2>(waypoints, true);
+			loopDuration = spanDuration * waypoints.length;
+			//The curve passes through the waypoints and bulges out a little between them
+			float low = Float.MAX_VALUE;
+			float high = -Float.MAX_VALUE;
+			Vector2 point = new Vector2();
+			for (int i = 0; i < waypoints.length * SEGMENTS_PER_SPAN; i++)
+			{
+				spline.valueAt(point, i / (float)(waypoints.length * SEGMENTS_PER_SPAN));
+				low = Math.min(low, point.x);
+				high = Math.max(high, point.x);
+			}
+			float margin = (high - low) * 0.1f;
+			minX = low - margin;
+			maxX = high + margin;
+		}
+
+		@Override
+		public Vector2 valueAt (float time, Vector2 out)
+		{
+			float t = time / loopDuration;
+			return spline.valueAt(out, t - (float)Math.floor(t));
+		}
+
+		@Override
+		public float getMinX ()
+		{
+			return minX;
+		}
+
+		@Override
+		public float getMaxX ()
+		{
+			return maxX;
+		}
+	}
+}
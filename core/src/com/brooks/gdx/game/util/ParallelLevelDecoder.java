@@ -0,0 +1,113 @@
+package com.brooks.gdx.game.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.badlogic.gdx.graphics.Pixmap;
+
+/**
+ * Decodes large level images on a fork-join pool. The image is split into row bands which are scanned in parallel
+ * and merged left to right, so the result is identical to {@link LevelData#decode(Pixmap, BlockColors)}.
+ */
+public class ParallelLevelDecoder
+{
+	//Declare variables
+	private static ForkJoinPool sharedPool;
+	private final ForkJoinPool pool;
+	private final BlockColors colors;
+	private final int minBandPixels;
+
+	/**
+	 * Band task: scans its rows or splits them in two halves
+	 */
+	private static class BandTask extends RecursiveTask<LevelData>
+	{
+		private static final long serialVersionUID = 1L;
+		private final Pixmap pixmap;
+		private final BlockColors colors;
+		private final int firstRow;
+		private final int endRow;
+		private final int minBandRows;
+
+		BandTask (Pixmap pixmap, BlockColors colors, int firstRow, int endRow, int minBandRows)
+		{
+			this.pixmap = pixmap;
+			this.colors = colors;
+			this.firstRow = firstRow;
+			this.endRow = endRow;
+			this.minBandRows = minBandRows;
+		}
+
+		@Override
+		protected LevelData compute ()
+		{
+			if (endRow - firstRow <= minBandRows)
+			{
+				LevelData data = new LevelData(pixmap.getWidth(), pixmap.getHeight());
+				LevelData.decodeRows(pixmap, firstRow, endRow, data, colors);
+				return data;
+			}
+			int middleRow = (firstRow + endRow) >>> 1;
+			BandTask upper = new BandTask(pixmap, colors, firstRow, middleRow, minBandRows);
+			BandTask lower = new BandTask(pixmap, colors, middleRow, endRow, minBandRows);
+			lower.fork();
+			LevelData data = upper.compute();
+			//Runs continue across the band border if the scan sees two pixels of the same run color in a row
+			int lastPixel = pixmap.getPixel(pixmap.getWidth() - 1, middleRow - 1);
+			boolean continueRun = colors.getKind(lastPixel) == BlockColors.RUN && pixmap.getPixel(0, middleRow) == lastPixel;
+			data.append(lower.join(), continueRun, lastPixel);
+			return data;
+		}
+	}
+
+	/**
+	 * ParallelLevelDecoder method
+	 * @param pool
+	 * @param colors
+	 * @param minBandPixels bands are not split below this many pixels
+	 */
+	public ParallelLevelDecoder (ForkJoinPool pool, BlockColors colors, int minBandPixels)
+	{
+		this.pool = pool;
+		this.colors = colors;
+		this.minBandPixels = minBandPixels;
+	}
+
+	/**
+	 * GetSharedPool method
+	 * @return pool sized to the number of available cores
+	 */
+	public static synchronized ForkJoinPool getSharedPool ()
+	{
+		if (sharedPool == null)
+			sharedPool = new ForkJoinPool();
+		return sharedPool;
+	}
+
+	/**
+	 * DecodeLevel method
+	 * Decodes large images on the shared pool and small ones on the calling thread
+	 * @param pixmap
+	 * @param colors
+	 * @return
+	 */
+	public static LevelData decodeLevel (Pixmap pixmap, BlockColors colors)
+	{
+		if ((long)pixmap.getWidth() * pixmap.getHeight() < Constants.LEVEL_PARALLEL_DECODE_MIN_PIXELS)
+			return LevelData.decode(pixmap, colors);
+		return new ParallelLevelDecoder(getSharedPool(), colors, Constants.LEVEL_DECODE_BAND_PIXELS).decode(pixmap);
+	}
+
+	/**
+	 * Decode method
+	 * @param pixmap
+	 * @return
+	 */
+	public LevelData decode (Pixmap pixmap)
+	{
+		int minBandRows = Math.max(1, minBandPixels / Math.max(1, pixmap.getWidth()));
+		LevelData data = pool.invoke(new BandTask(pixmap, colors, 0, pixmap.getHeight(), minBandRows));
+		data.reportUnknownColors();
+		return data;
+	}
+}
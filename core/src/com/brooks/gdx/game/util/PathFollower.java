@@ -0,0 +1,137 @@
+package com.brooks.gdx.game.util;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * Places an object on a motion path relative to a fixed anchor and drives its kinematic body.
+ * The body is moved to the exact path position and given the velocity towards the end of the segment only
+ * when a new segment starts, so between segment changes it costs no native calls and errors never add up.
+ * Followers sharing a path can be shifted along it with a time offset, so one path instance serves every rock of a kind.
+ */
+public class PathFollower
+{
+	//Declare variables
+	public MotionPath path;
+	public final Vector2 anchor = new Vector2();
+	//Added to the level time before the path is evaluated
+	private float timeOffset;
+	private float segmentStart;
+	private float segmentEnd;
+	private final Vector2 from = new Vector2();
+	private final Vector2 to = new Vector2();
+
+	/**
+	 * PathFollower method
+	 * @param path
+	 * @param anchorX
+	 * @param anchorY
+	 */
+	public PathFollower (MotionPath path, float anchorX, float anchorY)
+	{
+		set(path, anchorX, anchorY, 0);
+	}
+
+	/**
+	 * Set method
+	 * Puts the follower on another path, for rocks that are reused
+	 * @param path
+	 * @param anchorX
+	 * @param anchorY
+	 * @param timeOffset
+	 */
+	public void set (MotionPath path, float anchorX, float anchorY, float timeOffset)
+	{
+		this.path = path;
+		this.timeOffset = timeOffset;
+		anchor.set(anchorX, anchorY);
+		invalidate();
+	}
+
+	/**
+	 * PositionAt method
+	 * @param clock level time
+	 * @param out
+	 * @return out, set to the position on the path
+	 */
+	public Vector2 positionAt (float clock, Vector2 out)
+	{
+		return path.valueAt(clock + timeOffset, out).add(anchor);
+	}
+
+	/**
+	 * DeltaAt method
+	 * @param clock level time at the end of the step
+	 * @param step
+	 * @param out
+	 * @return out, set to how far the follower moved during the step
+	 */
+	public Vector2 deltaAt (float clock, float step, Vector2 out)
+	{
+		path.valueAt(clock + timeOffset - step, from);
+		return path.valueAt(clock + timeOffset, out).sub(from);
+	}
+
+	/**
+	 * DriveBody method
+	 * Starts a new segment if the clock left the current one
+	 * @param body kinematic body, platforms don't rotate
+	 * @param clock level time at the start of the world step
+	 * @return whether the body was updated
+	 */
+	public boolean driveBody (Body body, float clock)
+	{
+		//Segment bounds are kept in path time
+		float time = clock + timeOffset;
+		if (time >= segmentStart && time < segmentEnd)
+			return false;
+		segmentStart = path.segmentStart(time);
+		segmentEnd = segmentStart + path.segmentDuration;
+		//A clock just short of the segment end would give a huge velocity, take the next segment along
+		if (segmentEnd - time < path.segmentDuration * 0.25f)
+			segmentEnd += path.segmentDuration;
+		path.valueAt(time, from).add(anchor);
+		path.valueAt(segmentEnd, to).add(anchor);
+		float scale = 1.0f / (segmentEnd - time);
+		body.setTransform(from, 0);
+		body.setLinearVelocity((to.x - from.x) * scale, (to.y - from.y) * scale);
+		return true;
+	}
+
+	/**
+	 * Invalidate method
+	 * Makes the next driveBody() start a new segment, for when the body was moved or the clock jumped
+	 */
+	public void invalidate ()
+	{
+		segmentStart = Float.POSITIVE_INFINITY;
+		segmentEnd = Float.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * GetTimeOffset method
+	 * @return
+	 */
+	public float getTimeOffset ()
+	{
+		return timeOffset;
+	}
+
+	/**
+	 * GetMinX method
+	 * @return leftmost x the anchor point reaches
+	 */
+	public float getMinX ()
+	{
+		return anchor.x + path.getMinX();
+	}
+
+	/**
+	 * GetMaxX method
+	 * @return rightmost x the anchor point reaches
+	 */
+	public float getMaxX ()
+	{
+		return anchor.x + path.getMaxX();
+	}
+}
@@ -0,0 +1,302 @@
+package com.brooks.gdx.game.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.brooks.gdx.game.util.InstrumentedSpriteBatch.FLUSH_REASON;
+
+/**
+ * Draw calls, texture binds, shader switches and batch flushes per render pass, from GLProfiler and the
+ * InstrumentedSpriteBatch of the pass. Every pass is measured as the difference of the counters between its begin
+ * and end, so a pass may end and begin its batch in between. Profiling runs only while the stats are shown or logged,
+ * GLProfiler wraps every GL call. The log is a CSV file with one row per pass and frame.
+ */
+public class RenderStats implements Disposable
+{
+	/**
+	 * Numbers of one pass, the ones of the last finished pass stay readable while it runs again
+	 */
+	public static class Pass
+	{
+		//Declare variables
+		public final String name;
+		public int renderCalls;
+		public int maxSpritesInBatch;
+		public int drawCalls;
+		public int textureBindings;
+		public int shaderSwitches;
+		public int glCalls;
+		public int vertices;
+		public int batchTextureSwitches;
+		public int batchShaderSwitches;
+		public final int[] flushes = new int[FLUSH_REASON.values().length];
+		//Counter values at the begin of the pass
+		private InstrumentedSpriteBatch batch;
+		private int startRenderCalls;
+		private int startDrawCalls;
+		private int startTextureBindings;
+		private int startShaderSwitches;
+		private int startGlCalls;
+		private float startVertices;
+		private int startBatchTextureSwitches;
+		private int startBatchShaderSwitches;
+		private final int[] startFlushes = new int[FLUSH_REASON.values().length];
+
+		/**
+		 * Pass method
+		 * @param name
+		 */
+		public Pass (String name)
+		{
+			this.name = name;
+		}
+
+		/**
+		 * GetFlushes method
+		 * @param reason
+		 * @return
+		 */
+		public int getFlushes (FLUSH_REASON reason)
+		{
+			return flushes[reason.ordinal()];
+		}
+	}
+
+	//Declare variables
+	public static final String TAG = RenderStats.class.getName();
+	//values() copies the array, both are kept to not allocate per frame
+	private static final FLUSH_REASON[] REASONS = FLUSH_REASON.values();
+	private static final String[] REASON_NAMES = new String[REASONS.length];
+	static
+	{
+		for (int i = 0; i < REASONS.length; i++)
+			REASON_NAMES[i] = REASONS[i].name().toLowerCase();
+	}
+	public final Pass world = new Pass("world");
+	public final Pass gui = new Pass("gui");
+	private boolean visible;
+	private Writer log;
+	private long frame;
+	private final StringBuilder line = new StringBuilder();
+
+	/**
+	 * SetVisible method
+	 * @param visible whether the HUD shows the stats
+	 */
+	public void setVisible (boolean visible)
+	{
+		this.visible = visible;
+		updateProfiler();
+	}
+
+	/**
+	 * IsVisible method
+	 * @return
+	 */
+	public boolean isVisible ()
+	{
+		return visible;
+	}
+
+	/**
+	 * SetLogging method
+	 * Starts a new log file or closes the current one
+	 * @param logging
+	 */
+	public void setLogging (boolean logging)
+	{
+		if (logging == isLogging())
+			return;
+		if (logging)
+		{
+			log = new BufferedWriter(Gdx.files.local(Constants.RENDER_STATS_LOG).writer(false));
+			frame = 0;
+			line.setLength(0);
+			line.append("frame,pass,renderCalls,maxSpritesInBatch,drawCalls,textureBindings,shaderSwitches,glCalls,vertices,batchTextureSwitches,batchShaderSwitches");
+			for (int i = 0; i < REASONS.length; i++)
+				line.append(",flush_").append(REASON_NAMES[i]);
+			line.append('\n');
+			write();
+			Gdx.app.log(TAG, "Logging render stats to " + Gdx.files.local(Constants.RENDER_STATS_LOG).file().getAbsolutePath());
+		}
+		else
+			closeLog();
+		updateProfiler();
+	}
+
+	/**
+	 * IsLogging method
+	 * @return
+	 */
+	public boolean isLogging ()
+	{
+		return log != null;
+	}
+
+	/**
+	 * IsEnabled method
+	 * @return whether the passes are measured
+	 */
+	public boolean isEnabled ()
+	{
+		return visible || log != null;
+	}
+
+	/**
+	 * Begin method
+	 * Call before the batch of the pass begins
+	 * @param pass
+	 * @param batch
+	 */
+	public void begin (Pass pass, InstrumentedSpriteBatch batch)
+	{
+		if (!isEnabled())
+			return;
+		pass.batch = batch;
+		batch.maxSpritesInBatch = 0;
+		pass.startRenderCalls = batch.totalRenderCalls;
+		pass.startBatchTextureSwitches = batch.getTextureSwitches();
+		pass.startBatchShaderSwitches = batch.getShaderSwitches();
+		for (int i = 0; i < REASONS.length; i++)
+			pass.startFlushes[i] = batch.getFlushes(REASONS[i]);
+		pass.startDrawCalls = GLProfiler.drawCalls;
+		pass.startTextureBindings = GLProfiler.textureBindings;
+		pass.startShaderSwitches = GLProfiler.shaderSwitches;
+		pass.startGlCalls = GLProfiler.calls;
+		pass.startVertices = GLProfiler.vertexCount.total;
+	}
+
+	/**
+	 * End method
+	 * Call after the batch of the pass ended
+	 * @param pass
+	 */
+	public void end (Pass pass)
+	{
+		InstrumentedSpriteBatch batch = pass.batch;
+		if (!isEnabled() || batch == null)
+			return;
+		pass.renderCalls = batch.totalRenderCalls - pass.startRenderCalls;
+		pass.maxSpritesInBatch = batch.maxSpritesInBatch;
+		pass.batchTextureSwitches = batch.getTextureSwitches() - pass.startBatchTextureSwitches;
+		pass.batchShaderSwitches = batch.getShaderSwitches() - pass.startBatchShaderSwitches;
+		for (int i = 0; i < REASONS.length; i++)
+			pass.flushes[i] = batch.getFlushes(REASONS[i]) - pass.startFlushes[i];
+		pass.drawCalls = GLProfiler.drawCalls - pass.startDrawCalls;
+		pass.textureBindings = GLProfiler.textureBindings - pass.startTextureBindings;
+		pass.shaderSwitches = GLProfiler.shaderSwitches - pass.startShaderSwitches;
+		pass.glCalls = GLProfiler.calls - pass.startGlCalls;
+		pass.vertices = (int)(GLProfiler.vertexCount.total - pass.startVertices);
+		pass.batch = null;
+		if (log != null)
+		{
+			line.setLength(0);
+			line.append(frame).append(',').append(pass.name).append(',').append(pass.renderCalls).append(',')
+				.append(pass.maxSpritesInBatch).append(',').append(pass.drawCalls).append(',').append(pass.textureBindings)
+				.append(',').append(pass.shaderSwitches).append(',').append(pass.glCalls).append(',').append(pass.vertices)
+				.append(',').append(pass.batchTextureSwitches).append(',').append(pass.batchShaderSwitches);
+			for (int i = 0; i < pass.flushes.length; i++)
+				line.append(',').append(pass.flushes[i]);
+			line.append('\n');
+			write();
+		}
+	}
+
+	/**
+	 * EndFrame method
+	 * Call after the last pass of a frame
+	 */
+	public void endFrame ()
+	{
+		if (!isEnabled())
+			return;
+		frame++;
+		//Keeps the counters far from overflowing, the passes only use differences
+		GLProfiler.reset();
+	}
+
+	/**
+	 * Describe method
+	 * Two lines of HUD text for the pass
+	 * @param pass
+	 * @param out cleared and filled with the text
+	 */
+	public static void describe (Pass pass, StringBuilder out)
+	{
+		out.setLength(0);
+		out.append(pass.name).append(": draw calls ").append(pass.drawCalls).append("  batch ").append(pass.renderCalls)
+			.append("  max sprites ").append(pass.maxSpritesInBatch).append("  binds ").append(pass.textureBindings)
+			.append("  shaders ").append(pass.shaderSwitches).append("  gl ").append(pass.glCalls).append('\n');
+		out.append("  flushes:");
+		for (int i = 0; i < REASONS.length; i++)
+			out.append(' ').append(REASON_NAMES[i]).append(' ').append(pass.flushes[i]);
+		out.append("  tex switches ").append(pass.batchTextureSwitches).append("  shader sets ").append(pass.batchShaderSwitches);
+	}
+
+	/**
+	 * Dispose method
+	 */
+	@Override
+	public void dispose ()
+	{
+		closeLog();
+		visible = false;
+		updateProfiler();
+	}
+
+	/**
+	 * UpdateProfiler method
+	 * GLProfiler runs only while the stats are used
+	 */
+	private void updateProfiler ()
+	{
+		if (isEnabled() && !GLProfiler.isEnabled())
+		{
+			GLProfiler.enable();
+			GLProfiler.reset();
+		}
+		else if (!isEnabled() && GLProfiler.isEnabled())
+			GLProfiler.disable();
+	}
+
+	/**
+	 * Write method
+	 * Writes the line to the log, a failing log is closed
+	 */
+	private void write ()
+	{
+		try
+		{
+			log.write(line.chars, 0, line.length);
+		}
+		catch (IOException e)
+		{
+			Gdx.app.error(TAG, "Couldn't write render stats log", e);
+			closeLog();
+		}
+	}
+
+	/**
+	 * CloseLog method
+	 */
+	private void closeLog ()
+	{
+		if (log == null)
+			return;
+		Writer closing = log;
+		log = null;
+		try
+		{
+			closing.close();
+		}
+		catch (IOException e)
+		{
+			Gdx.app.error(TAG, "Couldn't close render stats log", e);
+		}
+	}
+}
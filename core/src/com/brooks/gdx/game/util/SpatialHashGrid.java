@@ -0,0 +1,243 @@
+package com.brooks.gdx.game.util;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+
+/**
+ * Uniform grid of square cells, hashed by cell coordinates, holding game objects by their bounds.
+ * An object is listed in every cell its bounds overlap, so a query only visits the cells of the query rectangle.
+ */
+public class SpatialHashGrid
+{
+	//Declare variables
+	public static final String TAG = SpatialHashGrid.class.getName();
+	private final float cellSize;
+	private final LongMap<Array<AbstractGameObject>> cells = new LongMap<Array<AbstractGameObject>>();
+	private final IdentityMap<AbstractGameObject, Entry> entries = new IdentityMap<AbstractGameObject, Entry>();
+	//Incremented per query so objects spanning several cells are reported once
+	private int queryStamp;
+
+	/**
+	 * Cell range an object is currently listed in
+	 */
+	private static class Entry
+	{
+		int minX;
+		int minY;
+		int maxX;
+		int maxY;
+		int stamp;
+	}
+
+	/**
+	 * SpatialHashGrid method
+	 * @param cellSize in world units
+	 */
+	public SpatialHashGrid (float cellSize)
+	{
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Insert method
+	 * Adds the object, or moves it to its current cells if it is already in the grid
+	 * @param object
+	 */
+	public void insert (AbstractGameObject object)
+	{
+		Entry entry = entries.get(object);
+		if (entry != null)
+		{
+			update(object);
+			return;
+		}
+		entry = new Entry();
+		setRange(entry, object);
+		entries.put(object, entry);
+		addToCells(object, entry);
+	}
+
+	/**
+	 * Update method
+	 * Moves the object to the cells of its current position; does nothing if it stayed within its cells
+	 * @param object
+	 */
+	public void update (AbstractGameObject object)
+	{
+		Entry entry = entries.get(object);
+		if (entry == null)
+			return;
+		float x = object.position.x + object.bounds.x;
+		float y = object.position.y + object.bounds.y;
+		int minX = cell(x);
+		int minY = cell(y);
+		int maxX = cell(x + object.bounds.width);
+		int maxY = cell(y + object.bounds.height);
+		if (minX == entry.minX && minY == entry.minY && maxX == entry.maxX && maxY == entry.maxY)
+			return;
+		removeFromCells(object, entry);
+		entry.minX = minX;
+		entry.minY = minY;
+		entry.maxX = maxX;
+		entry.maxY = maxY;
+		addToCells(object, entry);
+	}
+
+	/**
+	 * Remove method
+	 * @param object
+	 */
+	public void remove (AbstractGameObject object)
+	{
+		Entry entry = entries.remove(object);
+		if (entry != null)
+			removeFromCells(object, entry);
+	}
+
+	/**
+	 * Contains method
+	 * @param object
+	 * @return
+	 */
+	public boolean contains (AbstractGameObject object)
+	{
+		return entries.containsKey(object);
+	}
+
+	/**
+	 * Clear method
+	 */
+	public void clear ()
+	{
+		cells.clear();
+		entries.clear();
+	}
+
+	/**
+	 * Size method
+	 * @return number of objects in the grid
+	 */
+	public int size ()
+	{
+		return entries.size;
+	}
+
+	/**
+	 * Query method
+	 * Collects the objects listed in the cells the area overlaps. These are candidates only, their bounds
+	 * still have to be tested against the area.
+	 * @param area
+	 * @param result cleared first
+	 * @return result
+	 */
+	public Array<AbstractGameObject> query (Rectangle area, Array<AbstractGameObject> result)
+	{
+		result.clear();
+		int stamp = ++queryStamp;
+		int minX = cell(area.x);
+		int minY = cell(area.y);
+		int maxX = cell(area.x + area.width);
+		int maxY = cell(area.y + area.height);
+		for (int cx = minX; cx <= maxX; cx++)
+		{
+			for (int cy = minY; cy <= maxY; cy++)
+			{
+				Array<AbstractGameObject> list = cells.get(key(cx, cy));
+				if (list == null)
+					continue;
+				AbstractGameObject[] items = list.items;
+				for (int i = 0; i < list.size; i++)
+				{
+					Entry entry = entries.get(items[i]);
+					if (entry.stamp == stamp)
+						continue;
+					entry.stamp = stamp;
+					result.add(items[i]);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * SetRange method
+	 * @param entry
+	 * @param object
+	 */
+	private void setRange (Entry entry, AbstractGameObject object)
+	{
+		float x = object.position.x + object.bounds.x;
+		float y = object.position.y + object.bounds.y;
+		entry.minX = cell(x);
+		entry.minY = cell(y);
+		entry.maxX = cell(x + object.bounds.width);
+		entry.maxY = cell(y + object.bounds.height);
+	}
+
+	/**
+	 * AddToCells method
+	 * @param object
+	 * @param entry
+	 */
+	private void addToCells (AbstractGameObject object, Entry entry)
+	{
+		for (int cx = entry.minX; cx <= entry.maxX; cx++)
+		{
+			for (int cy = entry.minY; cy <= entry.maxY; cy++)
+			{
+				long key = key(cx, cy);
+				Array<AbstractGameObject> list = cells.get(key);
+				if (list == null)
+				{
+					//Unordered so removal just moves the last object into the gap
+					list = new Array<AbstractGameObject>(false, 4, AbstractGameObject.class);
+					cells.put(key, list);
+				}
+				list.add(object);
+			}
+		}
+	}
+
+	/**
+	 * RemoveFromCells method
+	 * @param object
+	 * @param entry
+	 */
+	private void removeFromCells (AbstractGameObject object, Entry entry)
+	{
+		for (int cx = entry.minX; cx <= entry.maxX; cx++)
+		{
+			for (int cy = entry.minY; cy <= entry.maxY; cy++)
+			{
+				Array<AbstractGameObject> list = cells.get(key(cx, cy));
+				if (list != null)
+					list.removeValue(object, true);
+			}
+		}
+	}
+
+	/**
+	 * Cell method
+	 * @param coordinate in world units
+	 * @return cell coordinate
+	 */
+	private int cell (float coordinate)
+	{
+		return MathUtils.floor(coordinate / cellSize);
+	}
+
+	/**
+	 * Key method
+	 * @param cx
+	 * @param cy
+	 * @return
+	 */
+	private static long key (int cx, int cy)
+	{
+		return ((long)cx << 32) | (cy & 0xffffffffL);
+	}
+}
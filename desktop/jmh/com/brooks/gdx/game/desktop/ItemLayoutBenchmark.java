@@ -0,0 +1,170 @@
+package com.brooks.gdx.game.desktop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.ItemStore;
+
+/**
+ * JMH comparison of the per-frame item passes on an Array of game objects and on the ItemStore columns.
+ * On the objects the update pass calls the virtual update of every item and the render pass tests every item against
+ * the view. On the store both run the level's own calls: updateActivity() and update() over the awake range, and the
+ * index range, visibility test and key frame of ItemStore.render(), without the draw call that needs a GL context.
+ * Run with gradlew desktop:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemLayoutBenchmark
+{
+	//Declare variables
+	private static final float DELTA_TIME = 1.0f / 60.0f;
+	private static final float FRAME_DURATION = 0.1f;
+	private static final int FRAMES = 6;
+	@Param({ "10000", "1000000" })
+	public int count;
+	private Array<Coin> objects;
+	private ItemStore<Coin> store;
+	private float clock;
+	private float activeLeft;
+	private float activeRight;
+	private float viewLeft;
+	private float viewBottom;
+	private float viewRight;
+	private float viewTop;
+
+	/**
+	 * Coin without textures, the same fields as a GoldCoin
+	 */
+	public static class Coin extends AbstractGameObject
+	{
+		public boolean collected;
+
+		@Override
+		public void render (SpriteBatch batch)
+		{
+		}
+	}
+
+	/**
+	 * Setup method
+	 * Coins laid out along a level, created in level order like the level loader does
+	 */
+	@Setup
+	public void setup ()
+	{
+		MathUtils.random.setSeed(42);
+		objects = new Array<Coin>(Coin.class);
+		store = new ItemStore<Coin>();
+		for (int i = 0; i < count; i++)
+		{
+			Coin coin = new Coin();
+			coin.position.set(i * 0.5f, MathUtils.random(0.0f, 5.0f));
+			coin.dimension.set(0.5f, 0.5f);
+			coin.bounds.set(0, 0, 0.5f, 0.5f);
+			coin.stateTime = MathUtils.random(0.0f, 1.0f);
+			objects.add(coin);
+			//The store gets its own coins, objects can only be in one ItemStore
+			Coin stored = new Coin();
+			stored.position.set(coin.position);
+			stored.dimension.set(coin.dimension);
+			stored.stateTime = coin.stateTime;
+			store.add(stored, true, 0);
+		}
+		//A screen of 20 units in the middle of the level
+		viewLeft = count * 0.25f - 10;
+		viewRight = viewLeft + 20;
+		viewBottom = 0;
+		viewTop = 5;
+		activeLeft = count * 0.25f - Constants.LEVEL_ACTIVE_HALF_WIDTH;
+		activeRight = count * 0.25f + Constants.LEVEL_ACTIVE_HALF_WIDTH;
+		clock = 0;
+		store.updateActivity(activeLeft, activeRight, clock);
+	}
+
+	/**
+	 * UpdateObjects method
+	 * @return
+	 */
+	@Benchmark
+	public float updateObjects ()
+	{
+		Coin[] items = objects.items;
+		for (int i = 0, n = objects.size; i < n; i++)
+			items[i].update(DELTA_TIME);
+		return items[0].stateTime;
+	}
+
+	/**
+	 * UpdateStore method
+	 * One simulation tick of the level with the camera standing still
+	 * @return
+	 */
+	@Benchmark
+	public float updateStore ()
+	{
+		clock += DELTA_TIME;
+		store.updateActivity(activeLeft, activeRight, clock);
+		store.update(DELTA_TIME);
+		return store.getStateTime(store.findFirst(activeLeft));
+	}
+
+	/**
+	 * RenderObjects method
+	 * @return sum of the key frames of the visible items
+	 */
+	@Benchmark
+	public int renderObjects ()
+	{
+		int sum = 0;
+		Coin[] items = objects.items;
+		for (int i = 0, n = objects.size; i < n; i++)
+		{
+			Coin coin = items[i];
+			if (coin.collected)
+				continue;
+			float x = coin.position.x;
+			float y = coin.position.y;
+			if (x + coin.dimension.x < viewLeft || x > viewRight || y > viewTop || y + coin.dimension.y < viewBottom)
+				continue;
+			sum += (int)(coin.stateTime / FRAME_DURATION) % FRAMES;
+		}
+		return sum;
+	}
+
+	/**
+	 * RenderStore method
+	 * @return sum of the key frames of the visible items
+	 */
+	@Benchmark
+	public int renderStore ()
+	{
+		int sum = 0;
+		for (int i = store.findFirst(viewLeft), n = store.findEnd(viewRight); i < n; i++)
+		{
+			if (!store.isVisible(i, viewLeft, viewBottom, viewTop))
+				continue;
+			sum += (int)(store.getStateTime(i) / FRAME_DURATION) % FRAMES;
+		}
+		return sum;
+	}
+}
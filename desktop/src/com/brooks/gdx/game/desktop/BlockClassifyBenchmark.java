@@ -0,0 +1,139 @@
+package com.brooks.gdx.game.desktop;
+
+import java.util.Random;
+
+import com.brooks.gdx.game.BlockFactory;
+import com.brooks.gdx.game.BlockRegistry;
+import com.brooks.gdx.game.Level;
+import com.brooks.gdx.game.Level.BLOCK_TYPE;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+
+/**
+ * Compares pixel classification through the block registry against a linear if/else ladder
+ * as the number of registered block types grows
+ */
+public class BlockClassifyBenchmark
+{
+	//Declare variables
+	private static final int[] TYPE_COUNTS = { 5, 25, 100, 400 };
+	private static final int PIXELS = 1 << 20;
+	private static final int WARMUP_RUNS = 5;
+	private static final int MEASURED_RUNS = 20;
+	//Keeps the JIT from dropping the classification loops
+	private static long sink;
+
+	/**
+	 * Main method
+	 * @param args
+	 */
+	public static void main(String[] args)
+	{
+		System.out.println(" types   registry ns/px   ladder ns/px");
+		for (int types : TYPE_COUNTS)
+		{
+			BlockRegistry registry = new BlockRegistry();
+			int[] colors = new int[types];
+			//The built-in types come first, the rest are synthetic block types
+			colors[0] = BLOCK_TYPE.ROCK.getColor();
+			colors[1] = BLOCK_TYPE.PLAYER_SPAWNPOINT.getColor();
+			colors[2] = BLOCK_TYPE.ITEM_FEATHER.getColor();
+			colors[3] = BLOCK_TYPE.ITEM_GOLD_COIN.getColor();
+			colors[4] = BLOCK_TYPE.GOAL.getColor();
+			for (int i = 5; i < types; i++)
+			{
+				colors[i] = (0x10000 + i * 0x101) << 8 | 0xff;
+				registry.register(colors[i], new DummyFactory("type " + i));
+			}
+			int[] pixels = createPixels(colors, new Random(42));
+			double registryNs = measure(registry, null, pixels);
+			double ladderNs = measure(null, colors, pixels);
+			System.out.println(String.format("%6d   %14.2f   %12.2f", types, registryNs, ladderNs));
+		}
+		System.out.println(sink == 42 ? "" : "done");
+	}
+
+	/**
+	 * Measure method
+	 * @param registry null to classify with the ladder
+	 * @param colors ladder colors in test order
+	 * @param pixels
+	 * @return average nanoseconds per pixel
+	 */
+	private static double measure (BlockRegistry registry, int[] colors, int[] pixels)
+	{
+		for (int i = 0; i < WARMUP_RUNS; i++)
+			sink += registry != null ? classify(registry, pixels) : classify(colors, pixels);
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_RUNS; i++)
+			sink += registry != null ? classify(registry, pixels) : classify(colors, pixels);
+		return (double)(System.nanoTime() - start) / MEASURED_RUNS / pixels.length;
+	}
+
+	private static long classify (BlockRegistry registry, int[] pixels)
+	{
+		long known = 0;
+		for (int i = 0; i < pixels.length; i++)
+		{
+			if (registry.get(pixels[i]) != null)
+				known++;
+		}
+		return known;
+	}
+
+	/**
+	 * Classify method
+	 * Same cost model as the old if/else ladder: every type is tested in order until one matches
+	 */
+	private static long classify (int[] colors, int[] pixels)
+	{
+		long known = 0;
+		for (int i = 0; i < pixels.length; i++)
+		{
+			int pixel = pixels[i];
+			for (int t = 0; t < colors.length; t++)
+			{
+				if (colors[t] == pixel)
+				{
+					known += t + 1;
+					break;
+				}
+			}
+		}
+		return known;
+	}
+
+	/**
+	 * CreatePixels method
+	 * Half empty space, the rest spread evenly over all block types
+	 */
+	private static int[] createPixels (int[] colors, Random random)
+	{
+		int empty = BLOCK_TYPE.EMPTY.getColor();
+		int[] pixels = new int[PIXELS];
+		for (int i = 0; i < PIXELS; i++)
+			pixels[i] = random.nextBoolean() ? empty : colors[random.nextInt(colors.length)];
+		return pixels;
+	}
+
+	/**
+	 * Block type that is only classified, never created
+	 */
+	private static class DummyFactory extends BlockFactory
+	{
+		DummyFactory (String name)
+		{
+			super(name, false, false);
+		}
+
+		@Override
+		public AbstractGameObject create (int pixelX, int pixelY, int length, int levelHeight)
+		{
+			return null;
+		}
+
+		@Override
+		public void add (Level level, AbstractGameObject object)
+		{
+		}
+	}
+}
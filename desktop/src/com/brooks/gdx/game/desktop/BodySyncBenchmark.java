@@ -0,0 +1,206 @@
+package com.brooks.gdx.game.desktop;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.brooks.gdx.game.ecs.components.BodyComponent;
+import com.brooks.gdx.game.ecs.components.TransformComponent;
+import com.brooks.gdx.game.ecs.systems.PhysicsSyncSystem;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.MotionPath;
+import com.brooks.gdx.game.util.PathFollower;
+
+/**
+ * Compares the per-object body calls the game objects used to make every tick against the sync stage the game runs now,
+ * on a world with thousands of kinematic, dynamic and static bodies. In the sync stage the kinematic bodies follow
+ * sine bob paths and only get a new velocity when a path segment changes, and the dynamic bodies are entities read back
+ * by the PhysicsSyncSystem.
+ */
+public class BodySyncBenchmark
+{
+	//Declare variables
+	private static final int KINEMATIC = 4000;
+	private static final int DYNAMIC = 1000;
+	private static final int STATIC = 4000;
+	private static final int TICKS = 600;
+	private static final float STEP = 1.0f / 60.0f;
+
+	/**
+	 * Object without textures, only the body and transform matter here
+	 */
+	private static class Body2D extends AbstractGameObject
+	{
+		PathFollower motion;
+
+		@Override
+		public void render (SpriteBatch batch)
+		{
+		}
+	}
+
+	/**
+	 * Main method
+	 * @param args
+	 */
+	public static void main(String[] args)
+	{
+		GdxNativesLoader.load();
+		Box2D.init();
+		for (int round = 0; round < 2; round++)
+		{
+			System.out.println(round == 0 ? "warmup" : "measured");
+			run(false);
+			run(true);
+		}
+	}
+
+	/**
+	 * Run method
+	 * @param useSync whether to use the sync stage or the per-object calls
+	 */
+	private static void run (boolean useSync)
+	{
+		World world = new World(new Vector2(0, -9.81f), true);
+		Array<Body2D> kinematic = new Array<Body2D>();
+		Array<Body2D> dynamic = new Array<Body2D>();
+		Array<Body2D> statics = new Array<Body2D>();
+		MathUtils.random.setSeed(42);
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(0.25f, 0.25f);
+		FixtureDef fixtureDef = new FixtureDef();
+		fixtureDef.shape = shape;
+		fixtureDef.density = 1;
+		//Ground the dynamic bodies fall onto and fall asleep
+		BodyDef groundDef = new BodyDef();
+		Body ground = world.createBody(groundDef);
+		PolygonShape groundShape = new PolygonShape();
+		groundShape.setAsBox(2000, 1, new Vector2(0, -1), 0);
+		ground.createFixture(groundShape, 0);
+		groundShape.dispose();
+		for (int i = 0; i < KINEMATIC; i++)
+		{
+			Body2D object = create(world, BodyType.KinematicBody, fixtureDef, i * 0.6f - 1200, 20);
+			object.motion = new PathFollower(new MotionPath.SineBob(Constants.ROCK_FLOAT_AMPLITUDE, Constants.ROCK_FLOAT_PERIOD,
+				MathUtils.random(MathUtils.PI2)), object.position.x, object.position.y);
+			kinematic.add(object);
+		}
+		for (int i = 0; i < DYNAMIC; i++)
+			dynamic.add(create(world, BodyType.DynamicBody, fixtureDef, i * 0.6f - 300, 1 + MathUtils.random(3.0f)));
+		fixtureDef.isSensor = true;
+		for (int i = 0; i < STATIC; i++)
+			statics.add(create(world, BodyType.StaticBody, fixtureDef, i * 0.6f - 1200, 10));
+		shape.dispose();
+
+		//The dynamic bodies as entities, like the carrots
+		Engine engine = new Engine();
+		PhysicsSyncSystem physicsSyncSystem = new PhysicsSyncSystem(0);
+		engine.addSystem(physicsSyncSystem);
+		if (useSync)
+		{
+			for (int i = 0; i < dynamic.size; i++)
+			{
+				Entity entity = new Entity();
+				TransformComponent transform = new TransformComponent();
+				transform.position.set(dynamic.get(i).position);
+				BodyComponent body = new BodyComponent();
+				body.body = dynamic.get(i).body;
+				entity.add(transform);
+				entity.add(body);
+				engine.addEntity(entity);
+			}
+		}
+		long syncNanos = 0;
+		for (int tick = 0; tick < TICKS; tick++)
+		{
+			float clock = tick * STEP;
+			long start = System.nanoTime();
+			if (useSync)
+			{
+				//Closed-form positions, body velocities only at segment changes
+				for (int i = 0; i < kinematic.size; i++)
+				{
+					Body2D object = kinematic.get(i);
+					object.motion.positionAt(clock + STEP, object.position);
+					object.motion.driveBody(object.body, clock);
+				}
+			}
+			else
+			{
+				//Previous Rock.update: velocity state machine with damping
+				//Previous Rock.update: read the body velocity and write it back damped
+				for (int i = 0; i < kinematic.size; i++)
+				{
+					Body2D object = kinematic.get(i);
+					if ((tick + i) % 120 == 0)
+						object.velocity.set(0, ((tick + i) / 120) % 2 == 0 ? 0.25f : -0.25f);
+					else
+						object.velocity.scl(0.98f);
+					object.body.setLinearVelocity(object.velocity);
+				}
+			}
+			syncNanos += System.nanoTime() - start;
+			world.step(STEP, 8, 3);
+			start = System.nanoTime();
+			if (useSync)
+				engine.update(STEP);
+			else
+			{
+				//Previous AbstractGameObject.update: every object with a body reads position and angle
+				readAll(kinematic);
+				readAll(dynamic);
+				readAll(statics);
+			}
+			syncNanos += System.nanoTime() - start;
+		}
+		//Largest difference between the closed-form and the body positions, the chord error of the segments
+		float drift = 0;
+		for (int i = 0; i < kinematic.size; i++)
+		{
+			Body2D object = kinematic.get(i);
+			drift = Math.max(drift, object.position.dst(object.body.getPosition()));
+		}
+		int awake = 0;
+		for (int i = 0; i < dynamic.size; i++)
+		{
+			if (dynamic.get(i).body.isAwake())
+				awake++;
+		}
+		System.out.println(String.format("%-16s %8.2f us/tick  (%d of %d dynamic bodies awake at the end, kinematic drift %.2e)",
+			useSync ? "sync stage" : "per-object calls", syncNanos / 1000.0 / TICKS, awake, DYNAMIC, drift));
+		world.dispose();
+	}
+
+	private static Body2D create (World world, BodyType type, FixtureDef fixtureDef, float x, float y)
+	{
+		Body2D object = new Body2D();
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = type;
+		bodyDef.position.set(x, y);
+		object.body = world.createBody(bodyDef);
+		object.body.createFixture(fixtureDef);
+		object.position.set(x, y);
+		return object;
+	}
+
+	private static void readAll (Array<Body2D> objects)
+	{
+		for (int i = 0; i < objects.size; i++)
+		{
+			Body2D object = objects.get(i);
+			object.position.set(object.body.getPosition());
+			object.rotation = object.body.getAngle() * MathUtils.radiansToDegrees;
+		}
+	}
+}
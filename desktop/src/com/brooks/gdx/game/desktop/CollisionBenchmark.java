@@ -0,0 +1,132 @@
+package com.brooks.gdx.game.desktop;
+
+import java.util.Random;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.SpatialHashGrid;
+
+/**
+ * Compares the linear collision loops against the spatial hash grid on a generated level with 100k pickups
+ */
+public class CollisionBenchmark
+{
+	//Declare variables
+	private static final int PICKUPS = 100000;
+	private static final int LEVEL_WIDTH = 20000;
+	private static final int LEVEL_HEIGHT = 12;
+	private static final int FRAMES = 2000;
+	private static final int WARMUP_RUNS = 3;
+	private static final int MEASURED_RUNS = 5;
+	//Keeps the JIT from dropping the collision loops
+	private static long sink;
+
+	/**
+	 * Pickup without textures, only position and bounds matter here
+	 */
+	private static class Pickup extends AbstractGameObject
+	{
+		Pickup (float x, float y)
+		{
+			position.set(x, y);
+			bounds.set(0, 0, 0.5f, 0.5f);
+		}
+
+		@Override
+		public void render (SpriteBatch batch)
+		{
+		}
+	}
+
+	/**
+	 * Main method
+	 * @param args
+	 */
+	public static void main(String[] args)
+	{
+		Random random = new Random(42);
+		Array<Pickup> pickups = new Array<Pickup>(PICKUPS);
+		for (int i = 0; i < PICKUPS; i++)
+			pickups.add(new Pickup(random.nextFloat() * LEVEL_WIDTH, random.nextFloat() * LEVEL_HEIGHT - 2));
+		long start = System.nanoTime();
+		SpatialHashGrid grid = new SpatialHashGrid(Constants.COLLISION_GRID_CELL_SIZE);
+		for (int i = 0; i < PICKUPS; i++)
+			grid.insert(pickups.get(i));
+		System.out.println(String.format("%d pickups, grid built in %.2f ms", PICKUPS, (System.nanoTime() - start) / 1000000.0));
+
+		//Bunny path along the level
+		Rectangle[] path = new Rectangle[FRAMES];
+		for (int f = 0; f < FRAMES; f++)
+			path[f] = new Rectangle(f * (LEVEL_WIDTH / (float)FRAMES), random.nextFloat() * LEVEL_HEIGHT - 2, 1, 1);
+
+		Array<AbstractGameObject> candidates = new Array<AbstractGameObject>();
+		double linearUs = 0;
+		double gridUs = 0;
+		for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+		{
+			long linearStart = System.nanoTime();
+			for (int f = 0; f < FRAMES; f++)
+				sink += testLinear(path[f], pickups);
+			long gridStart = System.nanoTime();
+			for (int f = 0; f < FRAMES; f++)
+				sink += testGrid(path[f], grid, candidates);
+			long end = System.nanoTime();
+			if (run >= WARMUP_RUNS)
+			{
+				linearUs += (gridStart - linearStart) / 1000.0 / FRAMES / MEASURED_RUNS;
+				gridUs += (end - gridStart) / 1000.0 / FRAMES / MEASURED_RUNS;
+			}
+		}
+		System.out.println(String.format("linear loop  %10.3f us/frame", linearUs));
+		System.out.println(String.format("grid query   %10.3f us/frame  speedup %.0fx", gridUs, linearUs / gridUs));
+
+		//Incremental updates, as done for floating rocks every frame
+		start = System.nanoTime();
+		for (int i = 0; i < PICKUPS; i++)
+		{
+			Pickup pickup = pickups.get(i);
+			pickup.position.y += 0.01f;
+			grid.update(pickup);
+		}
+		System.out.println(String.format("grid update  %10.3f us/object", (System.nanoTime() - start) / 1000.0 / PICKUPS));
+		System.out.println(sink == 42 ? "" : "done");
+	}
+
+	/**
+	 * TestLinear method
+	 * Same loop as the collision test before the grid: every pickup is tested
+	 */
+	private static int testLinear (Rectangle bunny, Array<Pickup> pickups)
+	{
+		Rectangle r2 = new Rectangle();
+		int hits = 0;
+		for (Pickup pickup : pickups)
+		{
+			r2.set(pickup.position.x, pickup.position.y, pickup.bounds.width, pickup.bounds.height);
+			if (bunny.overlaps(r2))
+				hits++;
+		}
+		return hits;
+	}
+
+	/**
+	 * TestGrid method
+	 */
+	private static int testGrid (Rectangle bunny, SpatialHashGrid grid, Array<AbstractGameObject> candidates)
+	{
+		Rectangle r2 = new Rectangle();
+		int hits = 0;
+		grid.query(bunny, candidates);
+		for (int i = 0; i < candidates.size; i++)
+		{
+			AbstractGameObject pickup = candidates.get(i);
+			r2.set(pickup.position.x, pickup.position.y, pickup.bounds.width, pickup.bounds.height);
+			if (bunny.overlaps(r2))
+				hits++;
+		}
+		return hits;
+	}
+}
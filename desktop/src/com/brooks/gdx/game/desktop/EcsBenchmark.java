@@ -0,0 +1,201 @@
+package com.brooks.gdx.game.desktop;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.brooks.gdx.game.ecs.EcsWorld;
+import com.brooks.gdx.game.ecs.Mappers;
+import com.brooks.gdx.game.ecs.components.AnimationComponent;
+import com.brooks.gdx.game.ecs.components.BodyComponent;
+import com.brooks.gdx.game.ecs.components.MotionComponent;
+import com.brooks.gdx.game.ecs.components.TransformComponent;
+import com.brooks.gdx.game.objects.AbstractGameObject;
+
+/**
+ * Runs the same world of bodiless movers like the bunny, animated objects and Box2D bodies like the goal carrots,
+ * through the virtual update of AbstractGameObject and through the EcsWorld systems, then prints the per-system profile
+ */
+public class EcsBenchmark
+{
+	//Declare variables
+	private static final int MOVING = 20000;
+	private static final int ANIMATED = 20000;
+	private static final int BODIES = 2000;
+	private static final int TICKS = 600;
+	private static final float STEP = 1.0f / 60.0f;
+
+	/**
+	 * Object without textures, only the update matters here
+	 */
+	private static class Thing extends AbstractGameObject
+	{
+		@Override
+		public void update (float deltaTime)
+		{
+			super.update(deltaTime);
+			//Objects with a body read it back in their own update, like the carrots did before they became entities
+			if (body != null && body.isAwake())
+			{
+				Transform transform = body.getTransform();
+				position.set(transform.getPosition());
+				rotation = transform.getRotation() * MathUtils.radiansToDegrees;
+			}
+		}
+
+		@Override
+		public void render (SpriteBatch batch)
+		{
+		}
+	}
+
+	/**
+	 * Main method
+	 * @param args
+	 */
+	public static void main(String[] args)
+	{
+		GdxNativesLoader.load();
+		Box2D.init();
+		for (int round = 0; round < 2; round++)
+		{
+			System.out.println(round == 0 ? "warmup" : "measured");
+			runObjects();
+			runEntities(round == 1);
+		}
+	}
+
+	/**
+	 * RunObjects method
+	 */
+	private static void runObjects ()
+	{
+		World world = new World(new Vector2(0, -9.81f), true);
+		MathUtils.random.setSeed(1);
+		Array<Thing> things = new Array<Thing>();
+		Array<Thing> bodies = new Array<Thing>();
+		for (int i = 0; i < MOVING; i++)
+		{
+			Thing thing = new Thing();
+			thing.position.set(MathUtils.random(1000.0f), MathUtils.random(10.0f));
+			thing.velocity.set(MathUtils.random(-1.0f, 1.0f), 0);
+			thing.friction.set(0.1f, 0);
+			thing.acceleration.set(0, -1);
+			thing.terminalVelocity.set(2, 2);
+			things.add(thing);
+		}
+		for (int i = 0; i < ANIMATED; i++)
+		{
+			Thing thing = new Thing();
+			thing.position.set(i * 0.05f, 1);
+			things.add(thing);
+		}
+		createBodies(world, bodies, null);
+
+		long nanos = 0;
+		for (int tick = 0; tick < TICKS; tick++)
+		{
+			world.step(STEP, 8, 3);
+			long start = System.nanoTime();
+			for (int i = 0; i < things.size; i++)
+				things.get(i).update(STEP);
+			for (int i = 0; i < bodies.size; i++)
+				bodies.get(i).update(STEP);
+			nanos += System.nanoTime() - start;
+		}
+		System.out.println(String.format("%-18s %8.3f ms/tick", "virtual update", nanos / 1000000.0 / TICKS));
+		world.dispose();
+	}
+
+	/**
+	 * RunEntities method
+	 * @param printProfile
+	 */
+	private static void runEntities (boolean printProfile)
+	{
+		World world = new World(new Vector2(0, -9.81f), true);
+		MathUtils.random.setSeed(1);
+		EcsWorld entities = new EcsWorld();
+		for (int i = 0; i < MOVING; i++)
+		{
+			Entity entity = new Entity();
+			TransformComponent transform = new TransformComponent();
+			transform.position.set(MathUtils.random(1000.0f), MathUtils.random(10.0f));
+			MotionComponent motion = new MotionComponent();
+			motion.velocity.set(MathUtils.random(-1.0f, 1.0f), 0);
+			motion.friction.set(0.1f, 0);
+			motion.acceleration.set(0, -1);
+			motion.terminalVelocity.set(2, 2);
+			entity.add(transform);
+			entity.add(motion);
+			entities.addEntity(entity);
+		}
+		for (int i = 0; i < ANIMATED; i++)
+		{
+			Entity entity = new Entity();
+			TransformComponent transform = new TransformComponent();
+			transform.position.set(i * 0.05f, 1);
+			entity.add(transform);
+			entity.add(new AnimationComponent());
+			entities.addEntity(entity);
+		}
+		createBodies(world, null, entities);
+		entities.getProfiler().setEnabled(printProfile);
+
+		long nanos = 0;
+		for (int tick = 0; tick < TICKS; tick++)
+		{
+			world.step(STEP, 8, 3);
+			long start = System.nanoTime();
+			entities.updateMotion(STEP);
+			entities.update(STEP);
+			nanos += System.nanoTime() - start;
+		}
+		System.out.println(String.format("%-18s %8.3f ms/tick", "ecs systems", nanos / 1000000.0 / TICKS));
+		if (printProfile)
+			System.out.print(entities.getProfiler().describe());
+		world.dispose();
+	}
+
+	private static void createBodies (World world, Array<Thing> objects, EcsWorld entities)
+	{
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(0.1f, 0.2f);
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		for (int i = 0; i < BODIES; i++)
+		{
+			bodyDef.position.set(i * 0.5f, 5 + MathUtils.random(5.0f));
+			if (objects != null)
+			{
+				Thing thing = new Thing();
+				thing.body = world.createBody(bodyDef);
+				thing.body.createFixture(shape, 1);
+				objects.add(thing);
+			}
+			else
+			{
+				Entity entity = new Entity();
+				BodyComponent body = new BodyComponent();
+				body.body = world.createBody(bodyDef);
+				body.body.createFixture(shape, 1);
+				entity.add(new TransformComponent());
+				entity.add(body);
+				entities.addEntity(entity);
+				//Taking an entity out and adding it again, like the carrot pool does
+				entities.removeEntity(entity);
+				entities.addEntity(entity);
+				Mappers.transform.get(entity).position.set(bodyDef.position);
+			}
+		}
+		shape.dispose();
+	}
+}
@@ -0,0 +1,34 @@
+package com.brooks.gdx.game.desktop;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.brooks.gdx.game.BlockRegistry;
+import com.brooks.gdx.game.util.LevelCompiler;
+
+/**
+ * Offline level compiler: turns every level image into a compiled level file next to it, if that file is stale.
+ * The desktop run task runs it first, so the game can load compiled levels without checking their images.
+ */
+public class LevelCompilerLauncher
+{
+	/**
+	 * Main method
+	 * @param args optional level directory, defaults to ../core/assets/levels
+	 */
+	public static void main(String[] args)
+	{
+		//Pixmap decoding needs the native gdx library
+		GdxNativesLoader.load();
+		FileHandle dir = new FileHandle(args.length > 0 ? args[0] : "../core/assets/levels");
+		for (FileHandle source : dir.list(".png"))
+		{
+			if (!LevelCompiler.isStale(source))
+			{
+				System.out.println("'" + source.path() + "' is up to date");
+				continue;
+			}
+			FileHandle target = LevelCompiler.compile(source, BlockRegistry.instance.getColors());
+			System.out.println("Compiled '" + source.path() + "' -> '" + target.path() + "' (" + target.length() + " bytes)");
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.brooks.gdx.game.desktop;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.brooks.gdx.game.BlockRegistry;
+import com.brooks.gdx.game.Level.BLOCK_TYPE;
+import com.brooks.gdx.game.util.Constants;
+import com.brooks.gdx.game.util.LevelData;
+import com.brooks.gdx.game.util.ParallelLevelDecoder;
+
+/**
+ * Scaling benchmark for the parallel level decoder on synthetic 10k x 256 level images
+ */
+public class LevelDecodeBenchmark
+{
+	//Declare variables
+	private static final int WIDTH = 10000;
+	private static final int HEIGHT = 256;
+	private static final int WARMUP_RUNS = 3;
+	private static final int MEASURED_RUNS = 10;
+
+	/**
+	 * Main method
+	 * @param args
+	 */
+	public static void main(String[] args)
+	{
+		GdxNativesLoader.load();
+		Pixmap pixmap = createLevelImage(new Random(42));
+		LevelData expected = LevelData.decode(pixmap, BlockRegistry.instance.getColors());
+		System.out.println("Level " + WIDTH + "x" + HEIGHT + ": " + expected.getCount(BLOCK_TYPE.ROCK.getColor()) + " rock runs, " + expected.getObjectCount() + " objects");
+
+		double serialMs = measure(pixmap, null);
+		System.out.println(String.format("serial      %8.2f ms", serialMs));
+		int cores = Runtime.getRuntime().availableProcessors();
+		//Doubling parallelism, always ending with every core
+		for (int parallelism = 1; ; parallelism = Math.min(parallelism * 2, cores))
+		{
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			ParallelLevelDecoder decoder = new ParallelLevelDecoder(pool, BlockRegistry.instance.getColors(), Constants.LEVEL_DECODE_BAND_PIXELS);
+			if (!sameData(expected, decoder.decode(pixmap)))
+				throw new IllegalStateException("Parallel decode differs from serial decode at parallelism " + parallelism);
+			double ms = measure(pixmap, decoder);
+			System.out.println(String.format("%2d thread(s) %8.2f ms  speedup %.2fx", parallelism, ms, serialMs / ms));
+			pool.shutdown();
+			if (parallelism == cores)
+				break;
+		}
+		pixmap.dispose();
+	}
+
+	/**
+	 * Measure method
+	 * @param pixmap
+	 * @param decoder null for the serial scan
+	 * @return average milliseconds per decode
+	 */
+	private static double measure (Pixmap pixmap, ParallelLevelDecoder decoder)
+	{
+		for (int i = 0; i < WARMUP_RUNS; i++)
+			decode(pixmap, decoder);
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_RUNS; i++)
+			decode(pixmap, decoder);
+		return (System.nanoTime() - start) / 1000000.0 / MEASURED_RUNS;
+	}
+
+	private static LevelData decode (Pixmap pixmap, ParallelLevelDecoder decoder)
+	{
+		return decoder == null ? LevelData.decode(pixmap, BlockRegistry.instance.getColors()) : decoder.decode(pixmap);
+	}
+
+	/**
+	 * CreateLevelImage method
+	 * Random rock runs and items; every few rows a run crosses the row border to exercise run merging
+	 * @param random
+	 * @return
+	 */
+	private static Pixmap createLevelImage (Random random)
+	{
+		Pixmap pixmap = new Pixmap(WIDTH, HEIGHT, Format.RGBA8888);
+		pixmap.setColor(0, 0, 0, 1);
+		pixmap.fill();
+		for (int y = 0; y < HEIGHT; y++)
+		{
+			int x = 0;
+			while (x < WIDTH)
+			{
+				int roll = random.nextInt(100);
+				if (roll < 10)
+				{
+					int length = 1 + random.nextInt(12);
+					for (int i = 0; i < length && x < WIDTH; i++)
+						pixmap.drawPixel(x++, y, BLOCK_TYPE.ROCK.getColor());
+				}
+				else if (roll < 13)
+					pixmap.drawPixel(x++, y, BLOCK_TYPE.ITEM_GOLD_COIN.getColor());
+				else if (roll < 14)
+					pixmap.drawPixel(x++, y, BLOCK_TYPE.ITEM_FEATHER.getColor());
+				x += random.nextInt(8);
+			}
+			if (y % 5 == 0 && y + 1 < HEIGHT)
+			{
+				pixmap.drawPixel(WIDTH - 1, y, BLOCK_TYPE.ROCK.getColor());
+				pixmap.drawPixel(0, y + 1, BLOCK_TYPE.ROCK.getColor());
+			}
+		}
+		pixmap.drawPixel(2, HEIGHT - 4, BLOCK_TYPE.PLAYER_SPAWNPOINT.getColor());
+		pixmap.drawPixel(WIDTH - 20, HEIGHT - 4, BLOCK_TYPE.GOAL.getColor());
+		return pixmap;
+	}
+
+	private static boolean sameData (LevelData a, LevelData b)
+	{
+		if (a.getColorCount() != b.getColorCount())
+			return false;
+		for (int i = 0; i < a.getColorCount(); i++)
+		{
+			int color = a.getColor(i);
+			LevelData.Table table = b.getTable(color);
+			if (table == null || !a.getTable(color).equals(table))
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,138 @@
+package com.brooks.gdx.game.desktop;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.brooks.gdx.game.PhysicsBudget;
+
+/**
+ * Drops waves of carrot-sized boxes into a pit, removing the oldest wave like the carrot pool retires carrots,
+ * and steps the world once with the fixed 8/3 solver settings and once with the PhysicsBudget, printing the
+ * physics time per frame and the settings the budget picks
+ */
+public class PhysicsBudgetBenchmark
+{
+	//Declare variables
+	private static final int FRAMES = 900;
+	private static final int WAVE_FRAMES = 150;
+	private static final int WAVE_SIZE = 100;
+	private static final int MAX_WAVES = 3;
+	private static final float STEP = 1.0f / 60.0f;
+	private static final float TARGET_MILLIS = 1.0f;
+
+	/**
+	 * Main method
+	 * @param args
+	 */
+	public static void main(String[] args)
+	{
+		GdxNativesLoader.load();
+		Box2D.init();
+		for (int round = 0; round < 2; round++)
+		{
+			System.out.println(round == 0 ? "warmup" : "measured");
+			run(null);
+			run(new PhysicsBudget(TARGET_MILLIS, 4, 10, 2, 4, 2));
+		}
+	}
+
+	/**
+	 * Run method
+	 * @param budget null for the fixed settings
+	 */
+	private static void run (PhysicsBudget budget)
+	{
+		World world = new World(new Vector2(0, -9.81f), true);
+		MathUtils.random.setSeed(7);
+		//Pit
+		Body ground = world.createBody(new BodyDef());
+		PolygonShape wall = new PolygonShape();
+		wall.setAsBox(10, 0.5f, new Vector2(0, -0.5f), 0);
+		ground.createFixture(wall, 0);
+		wall.setAsBox(0.5f, 10, new Vector2(-10.5f, 10), 0);
+		ground.createFixture(wall, 0);
+		wall.setAsBox(0.5f, 10, new Vector2(10.5f, 10), 0);
+		ground.createFixture(wall, 0);
+		wall.dispose();
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(0.2f, 0.4f);
+		FixtureDef fixtureDef = new FixtureDef();
+		fixtureDef.shape = shape;
+		fixtureDef.density = 50;
+		fixtureDef.restitution = 0.5f;
+		fixtureDef.friction = 0.5f;
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		Array<Body> bodies = new Array<Body>();
+		if (budget != null)
+			budget.setSettings(8, 3, 1);
+
+		float totalMillis = 0;
+		float worstMillis = 0;
+		int overBudget = 0;
+		for (int frame = 0; frame < FRAMES; frame++)
+		{
+			if (frame % WAVE_FRAMES == 0)
+			{
+				if (bodies.size >= WAVE_SIZE * MAX_WAVES)
+				{
+					for (int i = 0; i < WAVE_SIZE; i++)
+						world.destroyBody(bodies.get(i));
+					bodies.removeRange(0, WAVE_SIZE - 1);
+				}
+				for (int i = 0; i < WAVE_SIZE; i++)
+				{
+					bodyDef.position.set(MathUtils.random(-9.0f, 9.0f), MathUtils.random(10.0f, 20.0f));
+					bodyDef.angle = MathUtils.random(MathUtils.PI2);
+					Body body = world.createBody(bodyDef);
+					body.createFixture(fixtureDef);
+					bodies.add(body);
+				}
+			}
+			float millis;
+			if (budget == null)
+			{
+				long start = System.nanoTime();
+				world.step(STEP, 8, 3);
+				millis = (System.nanoTime() - start) / 1000000.0f;
+			}
+			else
+			{
+				budget.step(world, STEP);
+				budget.setAwakeBodies(countAwake(bodies));
+				budget.endFrame();
+				millis = budget.getLastFrameMillis();
+			}
+			totalMillis += millis;
+			worstMillis = Math.max(worstMillis, millis);
+			if (millis > TARGET_MILLIS)
+				overBudget++;
+			if (budget != null && frame % 75 == 74)
+				System.out.println(String.format("  frame %3d: %4d bodies, %4d awake, %5.2f ms average, %s", frame + 1, bodies.size,
+					budget.getAwakeBodies(), budget.getAverageFrameMillis(), budget.describe()));
+		}
+		System.out.println(String.format("%-14s %6.3f ms/frame average, %6.3f ms worst, %d of %d frames over %.1f ms",
+			budget == null ? "fixed 8/3" : "physics budget", totalMillis / FRAMES, worstMillis, overBudget, FRAMES, TARGET_MILLIS));
+		shape.dispose();
+		world.dispose();
+	}
+
+	private static int countAwake (Array<Body> bodies)
+	{
+		int awake = 0;
+		for (int i = 0; i < bodies.size; i++)
+		{
+			if (bodies.get(i).isAwake())
+				awake++;
+		}
+		return awake;
+	}
+}